@@ -0,0 +1,33 @@
+package hello.exception.bench;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 프로젝트에서 예외를 응답으로 바꾸는 방법들
+ * errorPath 가 있으면 sendError 이후 WAS 가 해당 경로로 ERROR 디스패치를 한다.
+ */
+public enum ErrorMechanism {
+
+    // WebServerCustomizer 의 ErrorPage -> ErrorPageController
+    SERVLET_ERROR_PAGE("/error-500", MediaType.TEXT_HTML_VALUE, "/error-page/500"),
+    // 스프링 부트 기본 /error
+    BASIC_ERROR_CONTROLLER("/error-500", MediaType.TEXT_HTML_VALUE, "/error"),
+    // ExceptionDispatchResolver (MyHandlerExceptionResolver, UserHandlerExceptionResolver)
+    CUSTOM_RESOLVER("/api/members/user-ex", MediaType.APPLICATION_JSON_VALUE, null),
+    // @ResponseStatus -> ResponseStatusExceptionResolver -> sendError
+    RESPONSE_STATUS_ANNOTATION("/api/response-status-ex1", MediaType.APPLICATION_JSON_VALUE, "/error"),
+    // ResponseStatusException -> ResponseStatusExceptionResolver -> sendError
+    RESPONSE_STATUS_EXCEPTION("/api/response-status-ex2", MediaType.APPLICATION_JSON_VALUE, "/error"),
+    // @ExceptionHandler (ExControllerAdvice)
+    EXCEPTION_HANDLER("/api/members/bad", MediaType.APPLICATION_JSON_VALUE, null);
+
+    final String path;
+    final String accept;
+    final String errorPath;
+
+    ErrorMechanism(String path, String accept, String errorPath) {
+        this.path = path;
+        this.accept = accept;
+        this.errorPath = errorPath;
+    }
+}
@@ -0,0 +1,146 @@
+package hello.exception.bench;
+
+import hello.exception.ExceptionApplication;
+import hello.exception.UserException;
+import hello.exception.api.ApiExceptionController;
+import hello.exception.exception.BadRequestException;
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import hello.exception.resolver.ExceptionDispatchResolver;
+import hello.exception.resolver.MyHandlerExceptionResolver;
+import hello.exception.resolver.UserHandlerExceptionResolver;
+import hello.exception.servlet.ErrorPageController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.web.servlet.error.BasicErrorController;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에러 처리 방법별 비용 (컴포넌트 직접 호출)
+ * DispatcherServlet, 필터, 인터셉터를 거치지 않고 에러를 처리하는 컴포넌트만 호출한다.
+ * resolver 는 resolveException() 까지, 에러 페이지는 컨트롤러 호출 + 뷰 렌더링까지 측정한다.
+ * sendError 를 사용하는 방법은 이후 ERROR 디스패치 비용이 포함되지 않는다. (ErrorMechanismMockMvcBenchmark 참고)
+ * 예외 생성 비용은 StacklessExceptionBenchmark 에서 따로 측정하므로 미리 만든 예외를 재사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorMechanismComponentBenchmark {
+
+    @Param
+    private ErrorMechanism mechanism;
+
+    private ConfigurableApplicationContext context;
+    private ErrorPageController errorPageController;
+    private BasicErrorController basicErrorController;
+    private ViewResolver viewResolver;
+    private HandlerExceptionResolver resolver;
+    private HandlerMethod handler;
+    private Exception exception;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new SpringApplicationBuilder(ExceptionApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        errorPageController = context.getBean(ErrorPageController.class);
+        basicErrorController = context.getBean(BasicErrorController.class);
+        // ContentNegotiatingViewResolver : DispatcherServlet 과 같은 방식으로 Thymeleaf, BeanName(whitelabel) 뷰를 찾는다.
+        viewResolver = context.getBean("viewResolver", ViewResolver.class);
+        handler = new HandlerMethod(context.getBean(ApiExceptionController.class), "getMember", String.class);
+
+        switch (mechanism) {
+            case CUSTOM_RESOLVER:
+                resolver = ExceptionDispatchResolver.builder()
+                        .map(IllegalArgumentException.class, new MyHandlerExceptionResolver(context.getBean(ErrorMessages.class)).getResolution())
+                        .map(UserException.class, new UserHandlerExceptionResolver(context.getBean("userErrorBodyCache", ErrorBodyCache.class),
+                                context.getBean(ErrorResponseNegotiator.class),
+                                context.getBean(ErrorMessages.class)).getResolution())
+                        .build();
+                exception = UserException.of("사용자 에러");
+                break;
+            case RESPONSE_STATUS_ANNOTATION:
+                resolver = new ResponseStatusExceptionResolver();
+                exception = BadRequestException.of();
+                break;
+            case RESPONSE_STATUS_EXCEPTION:
+                resolver = new ResponseStatusExceptionResolver();
+                exception = new ResponseStatusException(HttpStatus.NOT_FOUND, "error.bad", new IllegalArgumentException());
+                break;
+            case EXCEPTION_HANDLER:
+                // 컨텍스트의 @ControllerAdvice(ExControllerAdvice) 를 찾아서 등록
+                ExceptionHandlerExceptionResolver exceptionHandlerResolver = new ExceptionHandlerExceptionResolver();
+                exceptionHandlerResolver.setApplicationContext(context);
+                exceptionHandlerResolver.afterPropertiesSet();
+                resolver = exceptionHandlerResolver;
+                exception = new IllegalArgumentException("잘못 입력 값");
+                break;
+            default:
+                break;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse handle() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", mechanism.path);
+        request.addHeader("Accept", mechanism.accept);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        switch (mechanism) {
+            case SERVLET_ERROR_PAGE:
+                setErrorAttributes(request);
+                render(errorPageController.errorPage500(request, response).getViewName(), request, response);
+                break;
+            case BASIC_ERROR_CONTROLLER:
+                setErrorAttributes(request);
+                ModelAndView mav = basicErrorController.errorHtml(request, response);
+                render(mav.getViewName(), request, response);
+                break;
+            default:
+                resolver.resolveException(request, response, handler, exception);
+                break;
+        }
+        return response;
+    }
+
+    private static void setErrorAttributes(MockHttpServletRequest request) {
+        request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+        request.setAttribute(RequestDispatcher.ERROR_MESSAGE, "");
+    }
+
+    private void render(String viewName, MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            View view = viewResolver.resolveViewName(viewName, Locale.KOREA);
+            view.render(Collections.emptyMap(), request, response);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package hello.exception.bench;
+
+import hello.exception.ExceptionApplication;
+import hello.exception.UserException;
+import hello.exception.api.ApiExceptionController;
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import hello.exception.exhandler.advice.ExControllerAdvice;
+import hello.exception.log.ErrorReporter;
+import hello.exception.member.MemberRepository;
+import hello.exception.resolver.ExceptionDispatchResolver;
+import hello.exception.resolver.MyHandlerExceptionResolver;
+import hello.exception.resolver.UserHandlerExceptionResolver;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+
+import javax.servlet.RequestDispatcher;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 에러 처리 방법별 요청 한 건 비용 (MockMvc)
+ * 애플리케이션에서는 ExControllerAdvice 가 Exception 을 모두 처리하므로 다른 resolver 까지 예외가 내려가지 않는다.
+ * 방법별로 비교하기 위해 resolver 기반 방법은 해당 resolver 만 등록한 standalone MockMvc 로 측정한다.
+ * MockMvc 는 ERROR 디스패치를 하지 않으므로 sendError 를 사용하는 방법은 WAS 처럼 에러 경로를 한번 더 요청한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorMechanismMockMvcBenchmark {
+
+    @Param
+    private ErrorMechanism mechanism;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private MockMvc errorMockMvc;
+    private MockHttpServletRequestBuilder request;
+    private MockHttpServletRequestBuilder errorRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new SpringApplicationBuilder(ExceptionApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        errorMockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        mockMvc = mockMvcFor(mechanism);
+        request = get(mechanism.path).accept(mechanism.accept);
+
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        if (response.getStatus() < 400) {
+            throw new IllegalStateException(mechanism + " 에러 응답이 아님 status=" + response.getStatus());
+        }
+        if (mechanism.errorPath != null) {
+            errorRequest = get(mechanism.errorPath).accept(mechanism.accept)
+                    .requestAttr(RequestDispatcher.ERROR_STATUS_CODE, response.getStatus())
+                    .requestAttr(RequestDispatcher.ERROR_MESSAGE, response.getErrorMessage() == null ? "" : response.getErrorMessage())
+                    .requestAttr(RequestDispatcher.ERROR_REQUEST_URI, mechanism.path);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult handle() throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (errorRequest == null) {
+            return result;
+        }
+        return errorMockMvc.perform(errorRequest).andReturn();
+    }
+
+    private MockMvc mockMvcFor(ErrorMechanism mechanism) {
+        switch (mechanism) {
+            case CUSTOM_RESOLVER:
+                return MockMvcBuilders.standaloneSetup(new ApiExceptionController(context.getBean(MemberRepository.class)))
+                        .setHandlerExceptionResolvers(ExceptionDispatchResolver.builder()
+                                .map(IllegalArgumentException.class, new MyHandlerExceptionResolver(context.getBean(ErrorMessages.class)).getResolution())
+                                .map(UserException.class, new UserHandlerExceptionResolver(context.getBean("userErrorBodyCache", ErrorBodyCache.class),
+                                        context.getBean(ErrorResponseNegotiator.class),
+                                        context.getBean(ErrorMessages.class)).getResolution())
+                                .build())
+                        .build();
+            case RESPONSE_STATUS_ANNOTATION:
+            case RESPONSE_STATUS_EXCEPTION:
+                return MockMvcBuilders.standaloneSetup(new ApiExceptionController(context.getBean(MemberRepository.class)))
+                        .setHandlerExceptionResolvers(new ResponseStatusExceptionResolver())
+                        .build();
+            case EXCEPTION_HANDLER:
+                return MockMvcBuilders.standaloneSetup(new ApiExceptionController(context.getBean(MemberRepository.class)))
+                        .setControllerAdvice(new ExControllerAdvice(context.getBean(ErrorBodyCache.class), context.getBean(ErrorReporter.class),
+                                context.getBean(ErrorResponseNegotiator.class), context.getBean(ErrorMessages.class)))
+                        .build();
+            default:
+                // 서블릿 ErrorPage, BasicErrorController 는 애플리케이션 전체 설정 그대로 사용
+                return errorMockMvc;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hello.exception.bench;
+
+import hello.exception.ExceptionApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에러 한 건당 응답 시간 비교 : in-place 렌더링 on/off
+ * off : sendError -> WAS -> /error 로 ERROR 디스패치 (필터, DispatcherServlet, 핸들러 매핑, 뷰 리졸버 재실행)
+ * on : InPlaceErrorFilter 에서 현재 요청 안에서 렌더링
+ * MockMvc 는 ERROR 디스패치를 재현하지 않으므로 내장 톰캣에 실제 HTTP 요청을 보낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InPlaceErrorBenchmark {
+
+    @Param({"false", "true"})
+    private boolean inPlace;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest notFoundHtml;
+    private HttpRequest notFoundJson;
+    private HttpRequest serverErrorHtml;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ExceptionApplication.class)
+                .properties("server.port=0",
+                        "exception.error-page.in-place=" + inPlace,
+                        "logging.level.root=WARN")
+                .run();
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        notFoundHtml = request(port, "/error-404", "text/html");
+        notFoundJson = request(port, "/error-404", "application/json");
+        serverErrorHtml = request(port, "/error-500", "text/html");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] notFoundHtml() throws IOException, InterruptedException {
+        return client.send(notFoundHtml, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] notFoundJson() throws IOException, InterruptedException {
+        return client.send(notFoundJson, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] serverErrorHtml() throws IOException, InterruptedException {
+        return client.send(serverErrorHtml, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    private static HttpRequest request(int port, String path, String accept) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package hello.exception.bench;
+
+import hello.exception.filter.PathRules;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 경로 include / exclude 판단 비용 비교 (규칙 수 증가에 따라)
+ * antPathMatcher : 기존 addPathPatterns / excludePathPatterns (MappedInterceptor + AntPathMatcher, 요청마다 패턴 문자열 매칭)
+ * pathPattern : 미리 파싱한 PathPattern 목록 (요청마다 PathContainer 생성 후 순서대로 매칭)
+ * pathRules : 세그먼트 trie 로 컴파일한 PathRules
+ * 규칙은 WebConfig 의 인터셉터 제외 규칙 4개 + 같은 형태의 규칙(디렉토리/**, *.확장자, 리터럴 경로)을 늘려가며 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathRulesBenchmark {
+
+    private static final String[] INCLUDES = {"/**"};
+    private static final String[] BASE_EXCLUDES = {"/css/**", "/*.ico", "/error", "/error-page/**"};
+
+    // 정상 API, 에러 API, 정적 리소스, 에러 페이지가 섞인 요청
+    private static final String[] PATHS = {
+            "/api/members/spring", "/api/members/bad", "/api2/members/user-ex", "/css/app.css",
+            "/favicon.ico", "/error-page/500", "/error", "/error-ex", "/api/response-status-ex1", "/internal/metrics"};
+
+    @Param({"4", "16", "64"})
+    private int rules;
+
+    private String[] excludes;
+    private AntPathMatcher antPathMatcher;
+    private List<PathPattern> includePatterns;
+    private List<PathPattern> excludePatterns;
+    private PathRules pathRules;
+
+    @Setup
+    public void setup() {
+        List<String> patterns = new ArrayList<>(List.of(BASE_EXCLUDES));
+        for (int i = 0; patterns.size() < rules; i++) {
+            switch (i % 3) {
+                case 0:
+                    patterns.add("/static" + i + "/**");
+                    break;
+                case 1:
+                    patterns.add("/*.ext" + i);
+                    break;
+                default:
+                    patterns.add("/internal/service" + i + "/health");
+            }
+        }
+        excludes = patterns.toArray(new String[0]);
+
+        antPathMatcher = new AntPathMatcher();
+        includePatterns = parse(INCLUDES);
+        excludePatterns = parse(excludes);
+        pathRules = PathRules.builder().include(INCLUDES).exclude(excludes).build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public int antPathMatcher() {
+        int matched = 0;
+        for (String path : PATHS) {
+            if (antMatches(path)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public int pathPattern() {
+        int matched = 0;
+        for (String path : PATHS) {
+            PathContainer container = PathContainer.parsePath(path);
+            if (anyMatch(includePatterns, container) && !anyMatch(excludePatterns, container)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public int pathRules() {
+        int matched = 0;
+        for (String path : PATHS) {
+            if (pathRules.matches(path)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    // MappedInterceptor.matches 와 같은 순서 : exclude 먼저, 그 다음 include
+    private boolean antMatches(String path) {
+        for (String exclude : excludes) {
+            if (antPathMatcher.match(exclude, path)) {
+                return false;
+            }
+        }
+        for (String include : INCLUDES) {
+            if (antPathMatcher.match(include, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean anyMatch(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(String[] patterns) {
+        List<PathPattern> parsed = new ArrayList<>();
+        for (String pattern : patterns) {
+            parsed.add(PathPatternParser.defaultInstance.parse(pattern));
+        }
+        return parsed;
+    }
+}
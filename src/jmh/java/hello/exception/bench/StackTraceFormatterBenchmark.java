@@ -0,0 +1,78 @@
+package hello.exception.bench;
+
+import hello.exception.log.ExceptionFingerprint;
+import hello.exception.log.StackTraceFormatter;
+import hello.exception.log.StackTraceProperties;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에러 로그 한 건에서 요청 스레드가 부담하는 stack trace 비용
+ * printStackTrace : 기존 방식 (log.error(message, e) 처럼 요청 스레드에서 전체 stack trace 문자열 생성)
+ * fingerprint : StackTraceFormatter 가 요청 스레드에서 하는 stack fingerprint 계산 (getStackTrace() 복사 포함)
+ * submitKnown : 이미 포맷한 stack 이 다시 발생한 경우 submit() 전체 (fingerprint + 캐시 조회)
+ * depth 는 예외가 발생한 위치의 프레임 깊이 (스프링 + 톰캣 스택은 보통 100 프레임 이상), cause 1개 포함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StackTraceFormatterBenchmark {
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private StackTraceProperties properties;
+    private StackTraceFormatter formatter;
+    private Throwable exception;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        properties = new StackTraceProperties();
+        properties.setEnabled(true);
+        formatter = new StackTraceFormatter(properties);
+        exception = createAt(depth);
+
+        // 처음 한번은 백그라운드에서 포맷된다. 측정은 이미 캐시된 stack 기준
+        String id = formatter.submit(NOPLogger.NOP_LOGGER, "warm up", exception);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (formatter.find(id) == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("stack trace not formatted: " + id);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        formatter.destroy();
+    }
+
+    @Benchmark
+    public String printStackTrace() {
+        StringWriter out = new StringWriter(4096);
+        exception.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        return ExceptionFingerprint.ofStack(exception, properties.getMaxCauses());
+    }
+
+    @Benchmark
+    public String submitKnown() {
+        return formatter.submit(NOPLogger.NOP_LOGGER, "[exceptionHandle] ex", exception);
+    }
+
+    private static Throwable createAt(int remaining) {
+        if (remaining > 0) {
+            return createAt(remaining - 1);
+        }
+        return new IllegalStateException("wrapped", new IllegalArgumentException("잘못된 입력 값"));
+    }
+}
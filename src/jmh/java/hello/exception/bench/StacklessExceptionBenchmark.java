@@ -0,0 +1,81 @@
+package hello.exception.bench;
+
+import hello.exception.UserException;
+import hello.exception.exception.BusinessException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에러 경로에서 예외 생성 비용 비교
+ * stackful : 기존 방식 (fillInStackTrace 호출)
+ * stackless : writableStackTrace=false 생성자 경로
+ * preallocated : stackless 모드에서 UserException.of() 로 미리 생성한 인스턴스 재사용
+ * depth 는 컨트롤러까지의 프레임 깊이를 흉내낸다. (스프링 + 톰캣 스택은 보통 100 프레임 이상)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StacklessExceptionBenchmark {
+
+    private static final String MESSAGE = "사용자 에러";
+
+    @Param({"10", "100"})
+    private int depth;
+
+    @Setup
+    public void setup() {
+        BusinessException.configureStackless(List.of(UserException.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BusinessException.configureStackless(List.of());
+    }
+
+    @Benchmark
+    public String stackful() {
+        try {
+            return throwAt(depth, ThrowKind.STACKFUL);
+        } catch (UserException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String stackless() {
+        try {
+            return throwAt(depth, ThrowKind.STACKLESS);
+        } catch (UserException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String preallocated() {
+        try {
+            return throwAt(depth, ThrowKind.PREALLOCATED);
+        } catch (UserException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String throwAt(int remaining, ThrowKind mode) {
+        if (remaining > 0) {
+            return throwAt(remaining - 1, mode);
+        }
+        switch (mode) {
+            case STACKFUL:
+                throw new UserException(MESSAGE, null, true, true);
+            case STACKLESS:
+                throw new UserException(MESSAGE, null, false, false);
+            default:
+                throw UserException.of(MESSAGE);
+        }
+    }
+
+    private enum ThrowKind {
+        STACKFUL, STACKLESS, PREALLOCATED
+    }
+}
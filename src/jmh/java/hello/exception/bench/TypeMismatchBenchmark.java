@@ -0,0 +1,65 @@
+package hello.exception.bench;
+
+import hello.exception.ExceptionApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * @RequestParam Integer 에 변환할 수 없는 값이 들어온 요청 한 건 비용 (MockMvc)
+ * typeSafeParams=false : NumberFormatException -> MethodArgumentTypeMismatchException -> ExControllerAdvice
+ * typeSafeParams=true : TypeSafeParamInterceptor 가 예외 없이 검사하고 바로 400 응답
+ * data=10 은 정상 요청에 추가되는 검사 비용 확인용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeMismatchBenchmark {
+
+    @Param({"false", "true"})
+    private boolean typeSafeParams;
+
+    @Param({"abc", "10"})
+    private String data;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private MockHttpServletRequestBuilder request;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new SpringApplicationBuilder(ExceptionApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "exception.type-safe-params.enabled=" + typeSafeParams)
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        request = get("/api/default-handler-ex").param("data", data).accept(MediaType.APPLICATION_JSON);
+
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        int expected = "10".equals(data) ? 200 : 400;
+        if (response.getStatus() != expected) {
+            throw new IllegalStateException("data=" + data + " status=" + response.getStatus() + " " + response.getContentAsString());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult handle() throws Exception {
+        return mockMvc.perform(request).andReturn();
+    }
+}
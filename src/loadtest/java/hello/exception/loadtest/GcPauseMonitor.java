@@ -0,0 +1,69 @@
+package hello.exception.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.Histogram;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GC 알림으로 stop-the-world 시간을 수집한다.
+ * 서버와 부하 생성기가 같은 JVM 이므로 여기서 측정한 pause 는 응답 지연에 그대로 반영된다.
+ */
+public class GcPauseMonitor implements NotificationListener, AutoCloseable {
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private Histogram pauses = new Histogram(3);
+    private long totalPauseMillis;
+
+    public GcPauseMonitor() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // G1 Concurrent GC, ZGC Cycles 등 동시 수행 구간은 pause 가 아니므로 제외
+            if (gc.getName().contains("Concurrent") || gc.getName().contains("Cycles")) {
+                continue;
+            }
+            if (gc instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gc;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long duration = info.getGcInfo().getDuration();
+        synchronized (this) {
+            pauses.recordValue(duration);
+            totalPauseMillis += duration;
+        }
+    }
+
+    public synchronized void reset() {
+        pauses = new Histogram(3);
+        totalPauseMillis = 0;
+    }
+
+    public synchronized String summary() {
+        return String.format("GC pauses: count=%d total=%dms p50=%dms p99=%dms max=%dms",
+                pauses.getTotalCount(), totalPauseMillis,
+                pauses.getValueAtPercentile(50), pauses.getValueAtPercentile(99), pauses.getMaxValue());
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (NotificationEmitter emitter : emitters) {
+            emitter.removeNotificationListener(this);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package hello.exception.loadtest;
+
+import hello.exception.ExceptionApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 정상 / 에러 요청을 섞은 부하 테스트 (./gradlew loadTest)
+ * 고정 도착률(open model) : 응답을 기다리지 않고 정해진 간격으로 요청을 보낸다.
+ * 지연 시간은 요청을 보내야 했던 시각부터 측정하므로 서버가 밀리면 그만큼 지연에 반영된다. (coordinated omission 보정)
+ *
+ * 설정 (시스템 프로퍼티)
+ * loadtest.rate : 초당 요청 수 (기본 500)
+ * loadtest.duration / loadtest.warmup : 측정 / 워밍업 시간 초 (기본 30 / 10)
+ * loadtest.mix : id:가중치 목록 (기본 spring:95,ex:2,bad:2,user-ex:1)
+ * loadtest.endpoints : 회원 API 경로 (기본 /api/members/,/api2/members/)
+ * loadtest.url : 지정하면 내장 서버 대신 해당 서버로 요청 (예: http://localhost:8080)
+ * loadtest.args : 내장 서버에 넘길 설정 (예: exception.stackless.enabled=true;exception.virtual-threads.enabled=true)
+ */
+public class LoadTestRunner {
+
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String[] endpoints;
+    private final TrafficMix mix;
+    private final int rate;
+    private volatile Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    public LoadTestRunner(HttpClient client, String baseUrl, String[] endpoints, TrafficMix mix, int rate) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.endpoints = endpoints;
+        this.mix = mix;
+        this.rate = rate;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 500);
+        int duration = Integer.getInteger("loadtest.duration", 30);
+        int warmup = Integer.getInteger("loadtest.warmup", 10);
+        TrafficMix mix = TrafficMix.parse(System.getProperty("loadtest.mix", "spring:95,ex:2,bad:2,user-ex:1"));
+        String[] endpoints = System.getProperty("loadtest.endpoints", "/api/members/,/api2/members/").split(",");
+        String url = System.getProperty("loadtest.url");
+
+        ConfigurableApplicationContext context = null;
+        if (url == null) {
+            context = startServer(System.getProperty("loadtest.args", ""));
+            url = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        try (GcPauseMonitor gcMonitor = new GcPauseMonitor()) {
+            LoadTestRunner runner = new LoadTestRunner(client, url, endpoints, mix, rate);
+            System.out.printf("warmup %ds, rate=%d/s, target=%s%n", warmup, rate, url);
+            runner.run(TimeUnit.SECONDS.toNanos(warmup));
+
+            runner.reset();
+            gcMonitor.reset();
+            System.out.printf("measure %ds%n", duration);
+            long startNanos = System.nanoTime();
+            runner.run(TimeUnit.SECONDS.toNanos(duration));
+            // 남은 응답 대기
+            Thread.sleep(1000);
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+            runner.report(elapsedSeconds);
+            System.out.println(gcMonitor.summary());
+        } finally {
+            executor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext startServer(String args) {
+        String[] properties = args.isEmpty() ? new String[0] : args.split(";");
+        return new SpringApplicationBuilder(ExceptionApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * 정해진 시간 동안 고정 간격으로 요청을 보낸다.
+     */
+    public void run(long durationNanos) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long intended = start;
+        int sequence = 0;
+
+        while (intended < end) {
+            long now = System.nanoTime();
+            if (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                continue;
+            }
+            String endpoint = endpoints[sequence++ % endpoints.length];
+            String id = mix.next();
+            send(endpoint, id, intended);
+            intended += intervalNanos;
+        }
+    }
+
+    private void send(String endpoint, String id, long intendedNanos) {
+        Stats target = stats.computeIfAbsent(endpoint + id, key -> new Stats(endpoint, id));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint + id))
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        failures.increment();
+                        return;
+                    }
+                    target.record(response.statusCode(), System.nanoTime() - intendedNanos);
+                });
+    }
+
+    public void reset() {
+        // 워밍업 중 남은 응답은 이전 Stats 에 기록된다.
+        stats = new ConcurrentHashMap<>();
+        failures.reset();
+    }
+
+    public void report(double elapsedSeconds) {
+        System.out.printf("%-16s %-10s %8s %9s %-20s %9s %9s %9s %9s%n",
+                "endpoint", "id", "count", "req/s", "status", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+
+        Map<String, Stats> sorted = new TreeMap<>(stats);
+        Map<String, Histogram> byEndpoint = new TreeMap<>();
+        Map<String, Histogram> byId = new TreeMap<>();
+        for (Stats row : sorted.values()) {
+            print(row.endpoint, row.id, row.latency, row.statuses(), elapsedSeconds);
+            byEndpoint.computeIfAbsent(row.endpoint, key -> new Histogram(HIGHEST_LATENCY_NANOS, 3)).add(row.latency);
+            byId.computeIfAbsent(row.id, key -> new Histogram(HIGHEST_LATENCY_NANOS, 3)).add(row.latency);
+        }
+
+        System.out.println();
+        byEndpoint.forEach((endpoint, histogram) -> print(endpoint, "*", histogram, "", elapsedSeconds));
+        byId.forEach((id, histogram) -> print("*", id, histogram, "", elapsedSeconds));
+        System.out.printf("failures (connect/timeout): %d%n", failures.sum());
+    }
+
+    private static void print(String endpoint, String id, Histogram histogram, String statuses, double elapsedSeconds) {
+        System.out.printf("%-16s %-10s %8d %9.1f %-20s %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, id, histogram.getTotalCount(), histogram.getTotalCount() / elapsedSeconds, statuses,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * endpoint + id 별 지연 시간, 상태 코드 집계
+     */
+    static class Stats {
+        final String endpoint;
+        final String id;
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3);
+        final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        Stats(String endpoint, String id) {
+            this.endpoint = endpoint;
+            this.id = id;
+        }
+
+        void record(int status, long latencyNanos) {
+            latency.recordValue(Math.min(latencyNanos, HIGHEST_LATENCY_NANOS));
+            statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        String statuses() {
+            StringBuilder builder = new StringBuilder();
+            new TreeMap<>(statusCounts).forEach((status, count) -> {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(status).append('=').append(count.sum());
+            });
+            return builder.toString();
+        }
+    }
+}
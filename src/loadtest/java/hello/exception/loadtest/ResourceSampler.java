@@ -0,0 +1,48 @@
+package hello.exception.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 중 메모리 사용량 샘플링
+ * 플랫폼 스레드 스택은 힙 밖(native)에, 가상 스레드 스택은 힙에 있으므로 둘 다 기록한다.
+ * ThreadMXBean 의 스레드 수는 플랫폼 스레드만 센다.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile long maxHeapUsed;
+    private volatile long maxNonHeapCommitted;
+
+    public ResourceSampler() {
+        threads.resetPeakThreadCount();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, 0, 100, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        maxHeapUsed = Math.max(maxHeapUsed, memory.getHeapMemoryUsage().getUsed());
+        maxNonHeapCommitted = Math.max(maxNonHeapCommitted, memory.getNonHeapMemoryUsage().getCommitted());
+    }
+
+    public String summary() {
+        return String.format("peak platform threads=%d, max heap used=%dMB, max non-heap committed=%dMB",
+                threads.getPeakThreadCount(), maxHeapUsed >> 20, maxNonHeapCommitted >> 20);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
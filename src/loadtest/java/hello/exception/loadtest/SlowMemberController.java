@@ -0,0 +1,45 @@
+package hello.exception.loadtest;
+
+import hello.exception.member.SimulatedFailure;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * I/O 대기가 있는 회원 API 흉내 (부하 테스트 전용)
+ * DB, 외부 API 호출 대신 sleep 하고, id 에 따라 ApiExceptionController 와 같은 예외를 던진다.
+ * 동시에 처리 중인 요청 수의 최대값을 기록한다.
+ */
+@RestController
+public class SlowMemberController {
+
+    private final long latencyMillis;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public SlowMemberController(@Value("${loadtest.io-latency-ms:50}") long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @GetMapping("/loadtest/slow-members/{id}")
+    public Map<String, String> getMember(@PathVariable("id") String id) throws InterruptedException {
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(latencyMillis);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        SimulatedFailure.throwIfSimulated(id);
+        return Map.of("memberId", id, "name", "hello " + id);
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+}
@@ -0,0 +1,74 @@
+package hello.exception.loadtest;
+
+import hello.exception.server.VirtualThreads;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 풀 vs 가상 스레드 비교 (./gradlew loadTestThreads)
+ * I/O 대기가 있는 API(SlowMemberController) 에 톰캣 스레드 풀보다 많은 동시 요청이 생기도록 고정 도착률로 요청한다.
+ * 예) rate=6000/s, I/O 50ms -> 동시 요청 약 300 > server.tomcat.threads.max=200
+ * 모드별로 처리량, 지연 시간, 최대 동시 처리 수, 스레드 수, 메모리 사용량을 출력한다.
+ *
+ * 설정 (시스템 프로퍼티) : LoadTestRunner 와 같고 추가로
+ * loadtest.io-latency-ms : I/O 대기 시간 (기본 50)
+ * loadtest.tomcat-threads : 플랫폼 모드 톰캣 최대 스레드 수 (기본 200)
+ */
+public class ThreadModelComparison {
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 6000);
+        int duration = Integer.getInteger("loadtest.duration", 30);
+        int warmup = Integer.getInteger("loadtest.warmup", 10);
+        TrafficMix mix = TrafficMix.parse(System.getProperty("loadtest.mix", "spring:95,ex:2,bad:2,user-ex:1"));
+        String latency = System.getProperty("loadtest.io-latency-ms", "50");
+        String tomcatThreads = System.getProperty("loadtest.tomcat-threads", "200");
+
+        run("platform", rate, duration, warmup, mix, "exception.virtual-threads.enabled=false;server.tomcat.threads.max=" + tomcatThreads
+                + ";loadtest.io-latency-ms=" + latency);
+        if (!VirtualThreads.isSupported()) {
+            System.out.printf("virtual: skipped (requires Java 21+, current %s)%n", Runtime.version());
+            return;
+        }
+        run("virtual", rate, duration, warmup, mix, "exception.virtual-threads.enabled=true;loadtest.io-latency-ms=" + latency);
+    }
+
+    private static void run(String mode, int rate, int duration, int warmup, TrafficMix mix, String properties) throws Exception {
+        System.out.printf("%n===== %s : rate=%d/s %s%n", mode, rate, properties);
+        ConfigurableApplicationContext context = LoadTestRunner.startServer(properties);
+        String url = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        try (GcPauseMonitor gcMonitor = new GcPauseMonitor()) {
+            LoadTestRunner runner = new LoadTestRunner(client, url, new String[]{"/loadtest/slow-members/"}, mix, rate);
+            runner.run(TimeUnit.SECONDS.toNanos(warmup));
+            runner.reset();
+            gcMonitor.reset();
+
+            try (ResourceSampler sampler = new ResourceSampler()) {
+                long startNanos = System.nanoTime();
+                runner.run(TimeUnit.SECONDS.toNanos(duration));
+                Thread.sleep(1000);
+                runner.report((System.nanoTime() - startNanos) / 1e9);
+                System.out.printf("peak in-flight requests=%d%n", context.getBean(SlowMemberController.class).getPeakInFlight());
+                System.out.println(sampler.summary());
+                System.out.println(gcMonitor.summary());
+            }
+        } finally {
+            executor.shutdownNow();
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hello.exception.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 id 가중치 (예: spring:95,ex:2,bad:2,user-ex:1)
+ * 회원 API 는 id 값에 따라 정상 응답 또는 각 에러를 만든다.
+ */
+public class TrafficMix {
+
+    private final String[] ids;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private TrafficMix(String[] ids, int[] cumulativeWeights) {
+        this.ids = ids;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    public static TrafficMix parse(String spec) {
+        List<String> ids = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("id:weight 형식이 아님 " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("weight 는 0보다 커야 함 " + entry);
+            }
+            ids.add(pair[0].trim());
+            weights.add(weight);
+        }
+
+        int[] cumulative = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += weights.get(i);
+            cumulative[i] = sum;
+        }
+        return new TrafficMix(ids.toArray(new String[0]), cumulative);
+    }
+
+    public String next() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return ids[i];
+            }
+        }
+        return ids[ids.length - 1];
+    }
+
+    public String[] ids() {
+        return ids.clone();
+    }
+}
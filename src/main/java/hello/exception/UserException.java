@@ -1,26 +1,36 @@
 package hello.exception;
 
-public class UserException extends RuntimeException {
+import hello.exception.exception.BusinessException;
+
+public class UserException extends BusinessException {
 
     public UserException() {
-        super();
+        super(UserException.class, null, null);
     }
 
     public UserException(String message) {
-        super(message);
+        super(UserException.class, message, null);
     }
 
     public UserException(String message, Throwable cause) {
-        super(message, cause);
+        super(UserException.class, message, cause);
     }
 
     public UserException(Throwable cause) {
-        super(cause);
+        super(UserException.class, cause == null ? null : cause.toString(), cause);
     }
 
     public UserException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    // stackless 모드면 메시지별로 미리 생성한 인스턴스를 재사용하고, 아니면 매번 새로 생성
+    public static UserException of(String message) {
+        if (isStackless(UserException.class)) {
+            return preallocated(UserException.class, message, m -> new UserException(m, null, false, false));
+        }
+        return new UserException(message);
+    }
 }
 
 /* API 예외처리 - HandlerExceptionResolver 활용 */
@@ -1,12 +1,35 @@
 package hello.exception;
 
+import hello.exception.events.ErrorEvents;
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import hello.exception.filter.InternalAccessFilter;
+import hello.exception.filter.InternalAccessProperties;
+import hello.exception.filter.LoadSheddingFilter;
 import hello.exception.filter.LogFilter;
+import hello.exception.filter.PathRules;
 import hello.exception.interceptor.LogInterceptor;
+import hello.exception.interceptor.TypeSafeParamInterceptor;
+import hello.exception.log.AccessLog;
+import hello.exception.log.CorrelationIdGenerator;
+import hello.exception.log.ErrorReporter;
+import hello.exception.metrics.ErrorMetrics;
+import hello.exception.metrics.MeteredHandlerExceptionResolver;
+import hello.exception.resolver.ExceptionDispatchResolver;
 import hello.exception.resolver.MyHandlerExceptionResolver;
 import hello.exception.resolver.UserHandlerExceptionResolver;
+import hello.exception.servlet.InPlaceErrorFilter;
+import hello.exception.servlet.InPlaceErrorRenderer;
+import hello.exception.shedding.LoadShedder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -16,12 +39,63 @@ import javax.servlet.Filter;
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(InternalAccessProperties.class)
 public class WebConfig implements WebMvcConfigurer {
 
-//    @Bean
-    public FilterRegistrationBean logFilter() {
+    // 경로 규칙은 기동할 때 한번만 컴파일 (요청마다 ant 패턴 매칭을 하지 않는다)
+    // LogFilter : 정적 리소스만 제외 (ERROR 디스패치의 에러 페이지 요청은 로그를 남긴다)
+    private static final PathRules LOG_FILTER_PATHS = PathRules.builder()
+            .exclude("/css/**", "/*.ico")
+            .build();
+    // LogInterceptor : 정적 리소스, 에러 페이지 경로 제외
+    private static final PathRules LOG_INTERCEPTOR_PATHS = PathRules.builder()
+            .include("/**")
+            .exclude("/css/**", "/*.ico", "/error", "/error-page/**")
+            .build();
+
+    private final CorrelationIdGenerator correlationIdGenerator;
+    private final AccessLog accessLog;
+    private final ErrorReporter errorReporter;
+    private final ErrorMetrics errorMetrics;
+    private final ErrorEvents errorEvents;
+    private final ErrorMessages errorMessages;
+    private final ObjectProvider<TypeSafeParamInterceptor> typeSafeParamInterceptor;
+    private final InternalAccessProperties internalAccessProperties;
+
+    /**
+     * ErrorResult 형태의 에러 응답 바디 캐시
+     * 타입으로 주입받는 곳 (ExControllerAdvice, TypeSafeParamInterceptor 등) 은 모두 이 빈을 사용한다.
+     */
+    @Bean
+    @Primary
+    public ErrorBodyCache errorBodyCache() {
+        return new ErrorBodyCache("code");
+    }
+
+    /**
+     * UserHandlerExceptionResolver 의 {"ex": 예외 클래스 이름, "message": 메시지} 바디 캐시
+     */
+    @Bean
+    public ErrorBodyCache userErrorBodyCache() {
+        return new ErrorBodyCache("ex");
+    }
+
+    /**
+     * 에러 응답 JSON / HTML 선택 (ExControllerAdvice, UserHandlerExceptionResolver, 에러 페이지 공통)
+     */
+    @Bean
+    public ErrorResponseNegotiator errorResponseNegotiator() {
+        return new ErrorResponseNegotiator();
+    }
+
+    /**
+     * 요청 ID 생성, MDC 설정, 요청/응답 로그 (REQUEST, ERROR, ASYNC 디스패치)
+     */
+    @Bean
+    public FilterRegistrationBean<Filter> logFilter() {
         FilterRegistrationBean<Filter> filterRegistrationBean = new FilterRegistrationBean<>();
-        filterRegistrationBean.setFilter(new LogFilter());
+        filterRegistrationBean.setFilter(new LogFilter(correlationIdGenerator, accessLog, LOG_FILTER_PATHS));
         filterRegistrationBean.setOrder(1);
         filterRegistrationBean.addUrlPatterns("/*");
         // DispatcherType 추가 설정
@@ -29,17 +103,65 @@ public class WebConfig implements WebMvcConfigurer {
         // default 값 : DispatcherType.REQUEST (= 클라이언트 요청이 있을때만 필터 적용)
         // 즉, 특별히 에러 페이지 경로도 필터를 적용할 것이 아니라면 기본 값 그대로 사용하면 된다.
         // 에러 페이지 요청 전용 필터를 적용하고 있으면 DispatcherType.ERROR 만 지정하면 됨.
-        filterRegistrationBean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR);
+        // ASYNC : CompletableFuture, DeferredResult 의 결과를 응답하는 디스패치 (다른 스레드에서 다시 들어오므로 MDC 를 다시 설정)
+        filterRegistrationBean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR, DispatcherType.ASYNC);
+        return filterRegistrationBean;
+    }
+
+    /**
+     * 내부 조회 API (/internal/**) 는 로컬 또는 토큰이 있는 요청만 허용 (exception.internal.*)
+     */
+    @Bean
+    public FilterRegistrationBean<InternalAccessFilter> internalAccessFilter() {
+        FilterRegistrationBean<InternalAccessFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new InternalAccessFilter(internalAccessProperties, errorBodyCache()));
+        // LoadSheddingFilter 보다 바깥 : 거절한 요청은 에러율 집계에도 들어가지 않는다.
+        filterRegistrationBean.setOrder(-2);
+        filterRegistrationBean.addUrlPatterns("/internal/*");
+        filterRegistrationBean.setDispatcherTypes(DispatcherType.REQUEST);
+        return filterRegistrationBean;
+    }
+
+    /**
+     * 에러 폭주 시 요청 차단 (exception.shedding.enabled=true)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exception.shedding.enabled", havingValue = "true")
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(LoadShedder loadShedder) {
+        FilterRegistrationBean<LoadSheddingFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new LoadSheddingFilter(loadShedder, errorBodyCache(), errorMessages));
+        // 가장 바깥 : 차단한 요청은 다른 필터도 거치지 않는다. 에러 페이지 렌더링까지 끝난 최종 상태 코드로 에러율을 집계
+        filterRegistrationBean.setOrder(-1);
+        filterRegistrationBean.addUrlPatterns("/*");
+        filterRegistrationBean.setDispatcherTypes(DispatcherType.REQUEST);
+        return filterRegistrationBean;
+    }
+
+    /**
+     * 에러 페이지를 ERROR 디스패치 없이 현재 요청에서 바로 렌더링 (exception.error-page.in-place=true)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exception.error-page.in-place", havingValue = "true")
+    public FilterRegistrationBean<InPlaceErrorFilter> inPlaceErrorFilter(InPlaceErrorRenderer inPlaceErrorRenderer) {
+        FilterRegistrationBean<InPlaceErrorFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new InPlaceErrorFilter(inPlaceErrorRenderer));
+        // LogFilter 보다 바깥에서 sendError, 예외를 가로챈다.
+        filterRegistrationBean.setOrder(0);
+        filterRegistrationBean.addUrlPatterns("/*");
+        filterRegistrationBean.setDispatcherTypes(DispatcherType.REQUEST);
         return filterRegistrationBean;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LogInterceptor())
-                .order(1)
-                .addPathPatterns("/**")
-                .excludePathPatterns("/css/**", "/*.ico", "/error", "/error-page/**"); // 에러 페이지 경로
-    // -> /error-page/** 를 제거하면, error-page/500 같은 내부 호출의 경우에도 인터셉터 호출됨
+        // addPathPatterns("/**").excludePathPatterns(...) 대신 인터셉터가 LOG_INTERCEPTOR_PATHS 로 직접 확인
+        registry.addInterceptor(new LogInterceptor(correlationIdGenerator, accessLog, errorReporter, errorEvents, LOG_INTERCEPTOR_PATHS))
+                .order(1);
+    // -> 제외 경로에서 /error-page/** 를 제거하면, error-page/500 같은 내부 호출의 경우에도 인터셉터 호출됨
+
+        // 파라미터 타입 변환 실패를 핸들러 호출 전에 400 으로 응답 (exception.type-safe-params.enabled=true)
+        // LogInterceptor 다음 순서 : 거절한 요청도 접근 로그는 남긴다.
+        typeSafeParamInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).order(2));
     }
 
     /**
@@ -47,12 +169,20 @@ public class WebConfig implements WebMvcConfigurer {
      */
     @Override
     public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
-        resolvers.add(new MyHandlerExceptionResolver());
         // 참고 : configureHandlerExceptionResolver(...) 를 사용하면 스프링이 기본으로 등록하는
         // ExceptionResolver 가 제거되므로 주의. extendHandlerExceptionResolver() 를 사용해야 한다.
 
-        // 사용자 에러 추가
-        resolvers.add(new UserHandlerExceptionResolver());
+        // MyHandlerExceptionResolver, UserHandlerExceptionResolver 를 각각 체인에 추가하는 대신
+        // 예외 타입 -> 처리방법 테이블로 한번에 등록한다. (예외 타입별 조회는 한번만 계산되고 이후 캐시)
+        // 상태 코드, 에러 코드는 각 resolver 의 ErrorResolution (ErrorMapping 규칙) 을 그대로 사용한다.
+        resolvers.add(ExceptionDispatchResolver.builder()
+                .map(IllegalArgumentException.class, new MyHandlerExceptionResolver(errorMessages).getResolution())
+                // 사용자 에러 추가
+                .map(UserException.class, new UserHandlerExceptionResolver(userErrorBodyCache(), errorResponseNegotiator(), errorMessages).getResolution())
+                .build());
+
+        // 예외를 해결한 resolver 별로 (예외, resolver, 상태 코드, URI 템플릿) 집계, 에러 이벤트 기록
+        resolvers.replaceAll(resolver -> new MeteredHandlerExceptionResolver(resolver, errorMetrics, errorEvents));
     }
 
 }
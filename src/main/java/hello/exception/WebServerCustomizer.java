@@ -15,7 +15,11 @@ public class WebServerCustomizer implements WebServerFactoryCustomizer<Configura
 
     @Override
     public void customize(ConfigurableWebServerFactory factory) {
+        factory.addErrorPages(errorPages());
+    }
 
+    // InPlaceErrorRenderer 에서도 같은 등록 정보를 사용하도록 분리
+    public static ErrorPage[] errorPages() {
         ErrorPage errorPage404 = new ErrorPage(HttpStatus.NOT_FOUND, "/error-page/404");
         ErrorPage errorPage500 = new ErrorPage(HttpStatus.INTERNAL_SERVER_ERROR, "/error-page/500");
         // 500 - Internal Server Error : 여기서는 예외가 발생한 경우도 서버 내부 발생오류로 넘기도록했다.
@@ -23,8 +27,7 @@ public class WebServerCustomizer implements WebServerFactoryCustomizer<Configura
         // 에러 페이지는 예외를 다룰 때 해당 예외와 그 자식 타입의 오류를 함께 처리한다.
         // 즉, RuntimeException 뿐만아니라 그 자식 타입도 처리한다.
         ErrorPage errorPageEx = new ErrorPage(RuntimeException.class, "/error-page/500");
-        factory.addErrorPages(errorPage404, errorPage500, errorPageEx);
-
+        return new ErrorPage[]{errorPage404, errorPage500, errorPageEx};
     }
 }
 /* API 예외처리 */
@@ -0,0 +1,61 @@
+package hello.exception.api;
+
+import hello.exception.async.MemberAsyncExecutor;
+import hello.exception.member.Member;
+import hello.exception.member.MemberRepository;
+import hello.exception.member.SimulatedFailure;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * GET /api/members/{id} 의 비동기 버전
+ * 조회는 memberAsyncExecutor 에서 실행하고, 톰캣 요청 스레드는 바로 반환된다.
+ * 예외로 완료되면 스프링이 ASYNC 디스패치에서 예외를 다시 처리하므로 ExControllerAdvice 가 동기 버전과 같은 ErrorResult 를 응답한다.
+ * (CompletableFuture 가 감싼 CompletionException 은 스프링이 벗겨서 원래 예외로 처리한다)
+ * 풀이 가득 차서 거절되거나 (TaskRejectedException) 타임아웃이면 503 UNAVAILABLE
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ApiAsyncExceptionController {
+
+    private final MemberRepository memberRepository;
+    private final MemberAsyncExecutor executor;
+
+    // localhost:8080/api/async/members/spring, /ex, /bad, /user-ex, /nobody
+    @GetMapping("/api/async/members/{id}")
+    public CompletableFuture<ApiExceptionController.MemberDto> getMember(@PathVariable("id") String id) {
+        return executor.supply(() -> findMember(id));
+    }
+
+    // DeferredResult : 결과, 예외를 직접 설정한다.
+    @GetMapping("/api/deferred/members/{id}")
+    public DeferredResult<ApiExceptionController.MemberDto> getMemberDeferred(@PathVariable("id") String id) {
+        DeferredResult<ApiExceptionController.MemberDto> result = new DeferredResult<>(executor.getTimeoutMillis());
+        CompletableFuture<ApiExceptionController.MemberDto> lookup = executor.supply(() -> findMember(id));
+        lookup.whenComplete((member, error) -> {
+            if (error != null) {
+                result.setErrorResult(error);
+            } else {
+                result.setResult(member);
+            }
+        });
+        // 요청이 먼저 끝나면 (타임아웃, 연결 종료) 조회도 중단
+        result.onCompletion(() -> lookup.cancel(true));
+        return result;
+    }
+
+    // ApiExceptionController.getMember 와 같은 예외
+    private ApiExceptionController.MemberDto findMember(String id) {
+        log.debug("async member lookup [{}]", id);
+        SimulatedFailure.throwIfSimulated(id);
+        Member member = memberRepository.findById(id);
+        return new ApiExceptionController.MemberDto(member.getId(), member.getName());
+    }
+}
@@ -1,9 +1,12 @@
 package hello.exception.api;
 
-import hello.exception.UserException;
 import hello.exception.exception.BadRequestException;
+import hello.exception.member.Member;
+import hello.exception.member.MemberRepository;
+import hello.exception.member.SimulatedFailure;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -11,31 +14,28 @@ import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class ApiExceptionController {
 
+    private final MemberRepository memberRepository;
+
     @GetMapping("/api/members/{id}")
     public MemberDto getMember(@PathVariable("id") String id) {
 
-        if (id.equals("ex")) {
-            throw new RuntimeException("잘못된 사용자");
-        }
-
+        // localhost:8080/api/members/ex : RuntimeException 호출
         // localhost:8080/api/members/bad : IllegalArgumentException 호출
         // -> 실행 결과 : 상태코드 500
-        if (id.equals("bad")) {
-            throw new IllegalArgumentException("잘못 입력 값");
-        }
-
         // 사용자 정의 예외
         // localhost:8080/api/members/user-ex : UserException 호출
         // -> 실행결과 : { "ex": "hello.exception.exception.UserException", "message": "사용자 오류" }
-        if (id.equals("user-ex")) {
-            throw new UserException("사용자 에러");
-        }
+        // (id 별 예외는 비동기, 배치 조회와 공유하는 SimulatedFailure 에 정의)
+        SimulatedFailure.throwIfSimulated(id);
 
-        return new MemberDto(id, "hello " + id);
+        // 없는 회원이면 MemberNotFoundException -> ExControllerAdvice 에서 404
+        Member member = memberRepository.findById(id);
+        return new MemberDto(member.getId(), member.getName());
         // 테스트1 : localhost:8080/api/members/spring
-        // 결과 : { "memberId" : "spring", "name" : "hello spring" }
+        // 결과 : { "memberId" : "spring", "name" : "hello spring" } (members.csv 에 등록된 회원)
         // -> api 를 요청했는데, 정상인경우 JSON 데이터가 반환된다.
         // 테스트2 : localhost:8080/api/members/ex
         // 결과 : 500 에러페이지 표시
@@ -52,7 +52,7 @@ public class ApiExceptionController {
 
     @GetMapping("/api/response-status-ex1")
     public String responseStatusEx1() {
-        throw new BadRequestException();
+        throw BadRequestException.of();
     }
 
     @GetMapping("/api/response-status-ex2")
@@ -68,6 +68,7 @@ public class ApiExceptionController {
     @GetMapping("/api/default-handler-ex")
     public String defaultException(@RequestParam Integer data) {
         // Integer data 에 문자를 입력하면 내부에서 TypeMismatchException 발생
+        // -> ExControllerAdvice 에서 400 TYPE-MISMATCH (exception.type-safe-params.enabled=true 면 예외 없이 TypeSafeParamInterceptor 가 응답)
         return "ok";
     }
 
@@ -2,9 +2,13 @@ package hello.exception.api;
 
 import hello.exception.UserException;
 import hello.exception.exception.BadRequestException;
+import hello.exception.member.Member;
+import hello.exception.member.MemberRepository;
+import hello.exception.member.SimulatedFailure;
 import hello.exception.exhandler.ErrorResult;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,24 +17,20 @@ import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class ApiExceptionV2Controller {
 
+    private final MemberRepository memberRepository;
+
     @GetMapping("/api2/members/{id}")
     public MemberDto getMember(@PathVariable("id") String id) {
 
-        if (id.equals("ex")) {
-            throw new RuntimeException("잘못된 사용자");
-        }
-
-        if (id.equals("bad")) {
-            throw new IllegalArgumentException("잘못 입력 값");
-        }
-
-        if (id.equals("user-ex")) {
-            throw new UserException("사용자 에러");
-        }
+        // ex, bad, user-ex : RuntimeException, IllegalArgumentException, UserException
+        SimulatedFailure.throwIfSimulated(id);
 
-        return new MemberDto(id, "hello " + id);
+        // 없는 회원이면 MemberNotFoundException -> ExControllerAdvice 에서 404
+        Member member = memberRepository.findById(id);
+        return new MemberDto(member.getId(), member.getName());
     }
 
     @Data
@@ -0,0 +1,63 @@
+package hello.exception.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hello.exception.exhandler.ErrorResult;
+import hello.exception.member.MemberBatchService;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 회원 배치 조회
+ * POST /api/members/batch {"ids": ["spring", "bad", "nobody"]}
+ * -> {"results": [{"id": "spring", "status": 200, "member": {...}},
+ *                 {"id": "bad", "status": 400, "error": {"code": "BAD", "message": "잘못 입력 값"}},
+ *                 {"id": "nobody", "status": 404, "error": {"code": "NOT-FOUND", ...}}]}
+ * 일부 id 가 실패해도 전체 요청은 200 이고, 실패한 id 의 error 는 ExControllerAdvice 와 같은 code / message (요청 locale) 이다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemberBatchController {
+
+    private final MemberBatchService memberBatchService;
+
+    @PostMapping("/api/members/batch")
+    public BatchResponse getMembers(@RequestBody BatchRequest request, Locale locale) {
+        List<MemberBatchService.Result> results = memberBatchService.findAll(request.getIds(), locale);
+        List<Item> items = new ArrayList<>(results.size());
+        for (MemberBatchService.Result result : results) {
+            ApiExceptionController.MemberDto member = result.getMember() == null ? null
+                    : new ApiExceptionController.MemberDto(result.getMember().getId(), result.getMember().getName());
+            items.add(new Item(result.getId(), result.getStatus(), member, result.getError()));
+        }
+        return new BatchResponse(items);
+    }
+
+    @Data
+    static class BatchRequest {
+        private List<String> ids;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class BatchResponse {
+        private final List<Item> results;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class Item {
+        private final String id;
+        private final int status;
+        private final ApiExceptionController.MemberDto member;
+        private final ErrorResult error;
+    }
+}
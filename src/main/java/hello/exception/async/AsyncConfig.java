@@ -0,0 +1,32 @@
+package hello.exception.async;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 비동기 컨트롤러 설정
+ * 회원 조회는 별도의 제한된 스레드 풀(MemberAsyncExecutor)에서 실행하고, 톰캣 요청 스레드는 조회를 기다리지 않고 반환한다.
+ * 결과(또는 예외)가 준비되면 ASYNC 디스패치로 다시 들어와서 응답을 쓴다. (예외는 동기 요청과 같이 ExControllerAdvice 가 처리)
+ * Callable 반환 등 그 외 비동기 처리는 스프링 부트 기본 applicationTaskExecutor 를 그대로 사용한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncProperties properties;
+
+    @Bean
+    public MemberAsyncExecutor memberAsyncExecutor() {
+        return new MemberAsyncExecutor(properties);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(properties.getTimeout().toMillis());
+    }
+}
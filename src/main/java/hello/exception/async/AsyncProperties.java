@@ -0,0 +1,22 @@
+package hello.exception.async;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.async")
+public class AsyncProperties {
+
+    // 비동기 컨트롤러(CompletableFuture, DeferredResult)의 조회 작업을 실행할 스레드 수
+    private int threads = 16;
+
+    // 대기 작업 최대 개수 (넘으면 TaskRejectedException -> ExControllerAdvice 에서 503)
+    private int queueCapacity = 200;
+
+    // 비동기 요청 타임아웃 (넘으면 503, 실행 중인 조회는 interrupt)
+    private Duration timeout = Duration.ofSeconds(10);
+}
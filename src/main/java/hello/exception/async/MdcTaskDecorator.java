@@ -0,0 +1,36 @@
+package hello.exception.async;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * 작업을 등록한 스레드(톰캣 요청 스레드)의 MDC 를 작업 스레드로 복사
+ * 비동기 조회 중에 남기는 로그에도 같은 요청 ID(CorrelationId) 가 찍힌다.
+ * 작업이 끝나면 작업 스레드의 이전 MDC 로 되돌린다. (풀 스레드는 재사용되므로)
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
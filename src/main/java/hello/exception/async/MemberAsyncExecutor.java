@@ -0,0 +1,74 @@
+package hello.exception.async;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 회원 조회 전용 스레드 풀
+ * Executor 빈으로 등록하면 스프링 부트의 기본 applicationTaskExecutor(@Async, Callable 반환 처리용) 가 등록되지 않으므로
+ * Executor 를 구현하지 않고 풀을 내부에 감싼다.
+ * ・대기열이 가득 차면 요청 스레드에서 실행하지 않고 바로 거절 (TaskRejectedException -> 503 UNAVAILABLE)
+ * ・요청 타임아웃(exception.async.timeout) 이 지나면 결과를 TimeoutException 으로 완료하고 실행 중인 조회를 interrupt 한다.
+ *   결과 future 를 cancel 해도 (요청 종료) 조회를 중단한다.
+ */
+public class MemberAsyncExecutor implements InitializingBean, DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final long timeoutMillis;
+
+    public MemberAsyncExecutor(AsyncProperties properties) {
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("member-async-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor.initialize();
+    }
+
+    /**
+     * @throws TaskRejectedException 대기열이 가득 찬 경우
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    // 작업이 직접 완료한 경우는 작업 스레드에서 호출되므로 interrupt 하지 않는다.
+                    if (result.isCancelled() || error instanceof TimeoutException) {
+                        running.cancel(true);
+                    }
+                });
+        return result;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
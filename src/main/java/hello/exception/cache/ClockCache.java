@@ -0,0 +1,111 @@
+package hello.exception.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기 제한 캐시 (CLOCK : LRU 근사)
+ * 조회(hit)는 ConcurrentHashMap 조회 + 참조 비트 설정만 하므로 락이 없다. (LinkedHashMap LRU 는 조회할 때도 순서를 바꾸므로 락 필요)
+ * 추가는 miss 일 때만 일어나고 eviction 을 위해 짧게 동기화한다.
+ * eviction : 시계 바늘이 돌면서 참조 비트가 켜진 항목은 비트만 끄고 지나가고, 꺼진 항목을 제거한다.
+ * 회원 캐시 외에 요청 헤더, locale 처럼 키 종류를 클라이언트가 정하는 캐시에도 사용한다. (가득 차면 자주 쓰지 않는 키부터 교체)
+ */
+public class ClockCache<K, V> {
+
+    private final int capacity;
+    private final ConcurrentMap<K, Entry<V>> entries;
+    private final Object[] ring;
+    private final Object evictionLock = new Object();
+    private int size;
+    private int hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ClockCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        this.ring = new Object[capacity];
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        // 이미 켜져 있으면 쓰지 않는다. (캐시 라인 공유 최소화)
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        synchronized (evictionLock) {
+            Entry<V> existing = entries.get(key);
+            if (existing != null) {
+                entries.put(key, new Entry<>(value));
+                return;
+            }
+
+            int slot;
+            if (size < capacity) {
+                slot = size++;
+            } else {
+                slot = evict();
+            }
+            ring[slot] = key;
+            entries.put(key, new Entry<>(value));
+        }
+    }
+
+    // evictionLock 안에서 호출
+    private int evict() {
+        while (true) {
+            @SuppressWarnings("unchecked")
+            K candidate = (K) ring[hand];
+            Entry<V> entry = entries.get(candidate);
+            int slot = hand;
+            hand = (hand + 1) % capacity;
+            if (entry.referenced) {
+                entry.referenced = false;
+                continue;
+            }
+            entries.remove(candidate);
+            evictions.increment();
+            return slot;
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
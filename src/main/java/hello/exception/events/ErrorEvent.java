@@ -0,0 +1,24 @@
+package hello.exception.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 에러 이벤트 하나 (구독자에게 전달할 때 ring buffer 슬롯에서 복사해서 만든다)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ErrorEvent {
+    private final long sequence;
+    // epoch millis
+    private final long timestamp;
+    private final String correlationId;
+    private final String uri;
+    private final String dispatcherType;
+    private final String exception;
+    private final int status;
+    // 예외를 처리한 컴포넌트 (resolver, 에러 페이지, 인터셉터)
+    private final String component;
+}
@@ -0,0 +1,28 @@
+package hello.exception.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 최근 에러 이벤트 스트림 (Server-Sent Events)
+ * curl -N localhost:8080/internal/error-events
+ * 연결하면 보관 중인 최근 이벤트를 먼저 보내고 이후 발생하는 이벤트를 계속 보낸다.
+ * 재연결 시 Last-Event-ID 헤더를 보내면 그 다음 이벤트부터 이어서 받는다.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "exception.error-events.enabled", havingValue = "true")
+public class ErrorEventController {
+
+    private final ErrorEvents errorEvents;
+
+    @GetMapping(value = "/internal/error-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return errorEvents.subscribe(lastEventId);
+    }
+}
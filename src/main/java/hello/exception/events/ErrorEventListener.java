@@ -0,0 +1,12 @@
+package hello.exception.events;
+
+/**
+ * ErrorEvents 에 기록되는 에러를 함께 전달받는다. (에러 저널 등)
+ * 요청 스레드에서 바로 호출되므로 오래 걸리는 작업은 하지 않는다.
+ * 인자를 그대로 전달해서 에러마다 이벤트 객체를 만들지 않는다.
+ */
+public interface ErrorEventListener {
+
+    void onError(long timestamp, String correlationId, String uri, String dispatcherType,
+                 String exception, int status, String component);
+}
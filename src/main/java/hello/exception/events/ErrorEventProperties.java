@@ -0,0 +1,31 @@
+package hello.exception.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.error-events")
+public class ErrorEventProperties {
+
+    // true 면 에러 이벤트를 ring buffer 에 기록하고 /internal/error-events 로 스트리밍
+    private boolean enabled = false;
+
+    // 보관할 최근 이벤트 수 (2의 거듭제곱으로 올림)
+    private int capacity = 1024;
+
+    // 동시에 구독할 수 있는 최대 클라이언트 수 (구독자마다 전송 스레드 하나)
+    private int maxSubscribers = 8;
+
+    // 구독자가 새 이벤트를 확인하는 주기 (요청 스레드는 구독자를 깨우지 않는다)
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    // 이벤트가 없을 때 연결 확인용 comment 전송 주기
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    // 구독 최대 유지 시간
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,102 @@
+package hello.exception.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미리 할당한 슬롯에 에러 이벤트를 덮어쓰는 ring buffer
+ * 쓰는 쪽은 순번 하나를 받아서 슬롯 필드만 채우므로 (이벤트 객체 생성 없음) 구독자가 느려도 기다리지 않는다.
+ * 슬롯마다 seqlock 을 사용한다 : 쓰는 동안 seq 를 BUSY 로 두고, 다 쓴 뒤 순번을 기록한다.
+ * 읽는 쪽은 seq 확인 -> 필드 복사 -> seq 재확인으로 쓰는 도중이거나 덮어쓴 슬롯을 걸러낸다.
+ */
+class ErrorEventRing {
+
+    private static final long BUSY = -1L;
+    private static final VarHandle SEQ;
+
+    static {
+        try {
+            SEQ = MethodHandles.lookup().findVarHandle(Slot.class, "seq", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    // 다음에 발급할 순번 (= 지금까지 발급한 이벤트 수)
+    private final AtomicLong next = new AtomicLong();
+
+    ErrorEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long published() {
+        return next.get();
+    }
+
+    void publish(long timestamp, String correlationId, String uri, String dispatcherType,
+                 String exception, int status, String component) {
+        long seq = next.getAndIncrement();
+        Slot slot = slots[(int) seq & mask];
+        for (;;) {
+            long current = (long) SEQ.getVolatile(slot);
+            if (current == BUSY) {
+                // 한 바퀴 전 순번을 아직 쓰고 있는 경우 (capacity 만큼 동시에 쓰는 경우에만 발생)
+                Thread.onSpinWait();
+                continue;
+            }
+            if (current > seq) {
+                // 더 최신 이벤트가 이미 기록됨
+                return;
+            }
+            if (SEQ.compareAndSet(slot, current, BUSY)) {
+                break;
+            }
+        }
+        slot.timestamp = timestamp;
+        slot.correlationId = correlationId;
+        slot.uri = uri;
+        slot.dispatcherType = dispatcherType;
+        slot.exception = exception;
+        slot.status = status;
+        slot.component = component;
+        SEQ.setRelease(slot, seq);
+    }
+
+    /**
+     * @return seq 번 이벤트 복사본, 아직 쓰는 중이거나 이미 덮어썼으면 null (구분은 published() 로 한다)
+     */
+    ErrorEvent read(long seq) {
+        Slot slot = slots[(int) seq & mask];
+        if ((long) SEQ.getAcquire(slot) != seq) {
+            return null;
+        }
+        ErrorEvent event = new ErrorEvent(seq, slot.timestamp, slot.correlationId, slot.uri,
+                slot.dispatcherType, slot.exception, slot.status, slot.component);
+        VarHandle.acquireFence();
+        return (long) SEQ.getVolatile(slot) == seq ? event : null;
+    }
+
+    private static class Slot {
+        // 처음에는 어떤 순번과도 같지 않도록 음수
+        private long seq = Long.MIN_VALUE;
+        private long timestamp;
+        private String correlationId;
+        private String uri;
+        private String dispatcherType;
+        private String exception;
+        private int status;
+        private String component;
+    }
+}
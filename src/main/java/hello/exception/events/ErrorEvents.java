@@ -0,0 +1,246 @@
+package hello.exception.events;
+
+import hello.exception.log.CorrelationId;
+import hello.exception.metrics.MetricsSource;
+import hello.exception.server.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 최근 에러 이벤트 (시각, correlation id, URI, DispatcherType, 예외, 상태 코드, 처리한 컴포넌트)
+ * 요청 스레드는 ring buffer 에 기록만 하고, 구독자는 각자 전송 스레드에서 자기 위치부터 읽어서 SSE 로 보낸다.
+ * 느린 구독자는 자기 스레드만 막히고, 따라오지 못한 이벤트는 건너뛴 뒤 dropped 이벤트로 알려준다.
+ * ErrorEventListener 빈에는 스트림 사용 여부와 관계없이 모든 에러를 전달한다.
+ * pause() ~ resume() 사이의 에러는 ring buffer 와 listener (ErrorJournal 등) 모두에 기록하지 않는다. (기동 warm-up)
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ErrorEventProperties.class)
+public class ErrorEvents implements MetricsSource, SmartInitializingSingleton {
+
+    private final ErrorEventProperties properties;
+    private final ObjectProvider<ErrorEventListener> listenerProvider;
+    // 기동 후 한번만 조회 (에러마다 빈을 찾지 않는다)
+    private volatile ErrorEventListener[] listeners = new ErrorEventListener[0];
+    private final ErrorEventRing ring;
+    private final ExecutorService senders;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running = true;
+    // warm-up 중에는 기록하지 않는다.
+    private volatile boolean paused;
+
+    public ErrorEvents(ErrorEventProperties properties, ObjectProvider<ErrorEventListener> listenerProvider) {
+        this.properties = properties;
+        this.listenerProvider = listenerProvider;
+        if (!properties.isEnabled()) {
+            this.ring = null;
+            this.senders = null;
+            return;
+        }
+        this.ring = new ErrorEventRing(properties.getCapacity());
+        if (VirtualThreads.isSupported()) {
+            this.senders = VirtualThreads.newThreadPerTaskExecutor("error-events-");
+        } else {
+            AtomicInteger sequence = new AtomicInteger();
+            this.senders = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "error-events-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        listeners = listenerProvider.orderedStream().toArray(ErrorEventListener[]::new);
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    public void record(HttpServletRequest request, String exception, int status, String component) {
+        ErrorEventListener[] listeners = this.listeners;
+        if (paused || (ring == null && listeners.length == 0)) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        String correlationId = CorrelationId.get(request);
+        String uri = request.getRequestURI();
+        String dispatcherType = request.getDispatcherType().name();
+        if (ring != null) {
+            ring.publish(timestamp, correlationId, uri, dispatcherType, exception, status, component);
+        }
+        for (ErrorEventListener listener : listeners) {
+            try {
+                listener.onError(timestamp, correlationId, uri, dispatcherType, exception, status, component);
+            } catch (RuntimeException e) {
+                // 기록 실패가 에러 응답을 바꾸지 않도록 한다.
+                log.warn("error event listener failed: {}", listener, e);
+            }
+        }
+    }
+
+    /**
+     * resume() 까지 에러를 기록하지 않는다. (warm-up 으로 발생시킨 에러가 SSE 재전송, 저널에 남지 않도록)
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * @param lastEventId 재연결 시 Last-Event-ID (마지막으로 받은 순번), 없으면 보관 중인 최근 이벤트부터
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (ring == null) {
+            throw new IllegalStateException("error events are disabled");
+        }
+        if (subscribers.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many error event subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscription subscription = new Subscription(emitter, startSequence(lastEventId));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        try {
+            senders.execute(subscription);
+        } catch (RejectedExecutionException e) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "error events are shutting down");
+        }
+        return emitter;
+    }
+
+    private long startSequence(String lastEventId) {
+        long published = ring.published();
+        long oldest = Math.max(0, published - ring.capacity());
+        if (lastEventId != null) {
+            try {
+                return Math.min(published, Math.max(oldest, Long.parseLong(lastEventId) + 1));
+            } catch (NumberFormatException ignored) {
+                // 잘못된 값은 무시하고 처음부터
+            }
+        }
+        return oldest;
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        if (ring == null) {
+            return;
+        }
+        out.append("# TYPE error_events_published_total counter\n");
+        out.append("error_events_published_total ").append(ring.published()).append('\n');
+        out.append("# TYPE error_events_dropped_total counter\n");
+        out.append("error_events_dropped_total ").append(dropped.sum()).append('\n');
+        out.append("# TYPE error_events_subscribers gauge\n");
+        out.append("error_events_subscribers ").append(subscribers.get()).append('\n');
+    }
+
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    private class Subscription implements Runnable {
+
+        private final SseEmitter emitter;
+        private long cursor;
+        private volatile boolean closed;
+
+        Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        @Override
+        public void run() {
+            long pollNanos = properties.getPollInterval().toNanos();
+            long heartbeatNanos = properties.getHeartbeat().toNanos();
+            long lastSent = System.nanoTime();
+            try {
+                while (running && !closed && !Thread.currentThread().isInterrupted()) {
+                    if (sendAvailable()) {
+                        lastSent = System.nanoTime();
+                    } else if (System.nanoTime() - lastSent >= heartbeatNanos) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastSent = System.nanoTime();
+                    }
+                    LockSupport.parkNanos(pollNanos);
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료 또는 이미 완료된 emitter
+                log.debug("error event subscriber closed: {}", e.toString());
+            } finally {
+                subscribers.decrementAndGet();
+            }
+        }
+
+        // cursor 부터 기록된 이벤트를 보낸다. 보낸 것이 있으면 true
+        private boolean sendAvailable() throws IOException {
+            boolean sent = false;
+            long published = ring.published();
+            while (cursor < published) {
+                long oldest = published - ring.capacity();
+                if (cursor < oldest) {
+                    // 따라오지 못한 사이에 덮어쓴 이벤트는 건너뛴다.
+                    long skipped = oldest - cursor;
+                    dropped.add(skipped);
+                    emitter.send(SseEmitter.event().name("dropped").data(skipped));
+                    cursor = oldest;
+                    sent = true;
+                }
+                ErrorEvent event = ring.read(cursor);
+                if (event == null) {
+                    long latest = ring.published();
+                    if (cursor >= latest - ring.capacity()) {
+                        // 아직 쓰는 중 : 다음 주기에 다시 확인
+                        break;
+                    }
+                    published = latest;
+                    continue;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getSequence()))
+                        .name("error")
+                        .data(event, MediaType.APPLICATION_JSON));
+                cursor++;
+                sent = true;
+            }
+            return sent;
+        }
+    }
+}
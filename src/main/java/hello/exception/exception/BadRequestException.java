@@ -5,14 +5,31 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 
 //@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "잘못된 요청 오류")
-// 메시지 기능
-@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "bad request error!!")
-public class BadRequestException extends RuntimeException {
+// 메시지 기능 : reason 을 MessageSource 에서 찾는다. (messages.properties 의 error.bad)
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "error.bad")
+public class BadRequestException extends BusinessException {
     // @ResponseStatus 어노테이션으로 HTTP 상태 코드를 변경해준다.
     // -> BadRequestException 가 컨트롤러 밖으로 넘어가면 ResponseStatusExceptionResolver 가 해당 어노테이션을 확인해서
     //    에러코드를 HttpStatus.BAD_REQUEST(400) 으로 변경하고 메시지도 담는다.
     // -> ResponseStatusExceptionResolver 를 확인해보면 결국 response.sendError(statusCode, resolvedReason) 를 호출 한다.
     //    sendError(400) 를 호출했기 때문에 WAS 에서 다시 에러페이지 /error 를 내부 요청한다.
+
+    public BadRequestException() {
+        super(BadRequestException.class, null, null);
+    }
+
+    private BadRequestException(boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+    }
+
+    // 메시지가 없는 예외이므로 stackless 모드에서는 인스턴스 하나를 공유한다.
+    public static BadRequestException of() {
+        return isStackless(BadRequestException.class) ? Preallocated.INSTANCE : new BadRequestException();
+    }
+
+    private static class Preallocated {
+        private static final BadRequestException INSTANCE = new BadRequestException(false);
+    }
 }
 
 // ResponseStatusExceptionResolver
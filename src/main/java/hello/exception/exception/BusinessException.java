@@ -0,0 +1,49 @@
+package hello.exception.exception;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 클라이언트 요청으로 인해 발생하는 비즈니스 예외의 공통 부모
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    // stackless 모드가 켜진 예외 타입 (StacklessExceptionConfig 에서 시작 시점에 설정)
+    private static volatile Set<Class<?>> stacklessTypes = Collections.emptySet();
+
+    // 고정 메시지용 미리 생성한 예외 인스턴스 (타입 -> 메시지 -> 인스턴스)
+    private static final ConcurrentMap<Class<?>, ConcurrentMap<String, BusinessException>> preallocated = new ConcurrentHashMap<>();
+
+    protected BusinessException(Class<? extends BusinessException> type, String message, Throwable cause) {
+        // stackless 모드면 writableStackTrace=false 생성자 경로를 사용해서 fillInStackTrace 비용을 없앤다.
+        super(message, cause, true, !isStackless(type));
+    }
+
+    protected BusinessException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public static boolean isStackless(Class<?> type) {
+        return stacklessTypes.contains(type);
+    }
+
+    public static void configureStackless(Collection<Class<? extends BusinessException>> types) {
+        stacklessTypes = Set.copyOf(types);
+        preallocated.clear();
+    }
+
+    /**
+     * 고정 메시지에 대해 미리 생성해둔 예외를 반환한다.
+     * 여러 스레드가 같은 인스턴스를 공유하므로 stack trace, suppressed 가 없는 예외만 만들어야 한다.
+     * 메시지 종류가 한정된 경우에만 사용할 것 (동적 메시지를 넘기면 캐시가 계속 커진다)
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T extends BusinessException> T preallocated(Class<T> type, String message, Function<String, T> factory) {
+        ConcurrentMap<String, BusinessException> byMessage = preallocated.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        return (T) byMessage.computeIfAbsent(message, factory);
+    }
+}
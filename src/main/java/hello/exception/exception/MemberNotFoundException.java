@@ -0,0 +1,19 @@
+package hello.exception.exception;
+
+/**
+ * 회원이 없는 경우 (ExControllerAdvice 에서 404 NOT-FOUND 로 응답)
+ */
+public class MemberNotFoundException extends BusinessException {
+
+    // 응답 메시지 인자 (messages.properties 의 error.NOT-FOUND)
+    private final String memberId;
+
+    public MemberNotFoundException(String memberId) {
+        super(MemberNotFoundException.class, "회원을 찾을 수 없습니다. id=" + memberId, null);
+        this.memberId = memberId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+}
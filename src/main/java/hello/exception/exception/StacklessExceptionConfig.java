@@ -0,0 +1,46 @@
+package hello.exception.exception;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * application.properties 의 exception.stackless.* 설정을 BusinessException 에 반영한다.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(StacklessExceptionProperties.class)
+public class StacklessExceptionConfig {
+
+    private final StacklessExceptionProperties properties;
+
+    @PostConstruct
+    public void init() {
+        List<Class<? extends BusinessException>> types = new ArrayList<>();
+        if (properties.isEnabled()) {
+            for (Map.Entry<String, Boolean> entry : properties.getTypes().entrySet()) {
+                if (Boolean.TRUE.equals(entry.getValue())) {
+                    types.add(resolve(entry.getKey()));
+                }
+            }
+        }
+        BusinessException.configureStackless(types);
+        log.info("stackless exception types={}", types);
+    }
+
+    private Class<? extends BusinessException> resolve(String className) {
+        Class<?> type = ClassUtils.resolveClassName(className, getClass().getClassLoader());
+        if (!BusinessException.class.isAssignableFrom(type)) {
+            throw new IllegalStateException("stackless 모드는 BusinessException 하위 타입만 지원합니다: " + className);
+        }
+        return type.asSubclass(BusinessException.class);
+    }
+}
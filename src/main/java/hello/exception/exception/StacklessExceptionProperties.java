@@ -0,0 +1,20 @@
+package hello.exception.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.stackless")
+public class StacklessExceptionProperties {
+
+    // 전체 on/off (기본 false : 기존처럼 stack trace 를 남긴다)
+    private boolean enabled = false;
+
+    // 예외 타입(FQCN) 별 stackless 여부
+    private Map<String, Boolean> types = new LinkedHashMap<>();
+}
@@ -0,0 +1,115 @@
+package hello.exception.exhandler;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import hello.exception.cache.ClockCache;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 에러 응답 바디 캐시
+ * {"code": "...", "message": "..."} 형태(ErrorResult 와 같은 모양)의 JSON 을 HttpServletResponse 에 직접 쓴다.
+ * ・고정 (code, message) : 한번만 직렬화해서 byte[] 로 보관하고, Content-Length 와 함께 그대로 쓴다.
+ * ・동적 message : 풀에서 꺼낸 버퍼에 스트리밍으로 직렬화한 뒤 쓴다. (ObjectMapper, HashMap 생성 없음)
+ */
+public class ErrorBodyCache {
+
+    private static final String CONTENT_TYPE = "application/json";
+    // 고정 메시지 종류는 (코드 x locale) 로 한정되어 있다. 잘못 사용해서 동적 메시지가 들어와도 캐시가 무한히 커지지 않도록 제한
+    // (가득 차면 자주 쓰지 않는 바디부터 교체)
+    private static final int MAX_FIXED_BODIES = 1024;
+    private static final int POOL_SIZE = 64;
+    private static final int MAX_POOLED_BUFFER_SIZE = 8 * 1024;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final String codeField;
+    private final ClockCache<Key, byte[]> fixedBodies = new ClockCache<>(MAX_FIXED_BODIES);
+    private final BlockingQueue<ByteArrayOutputStream> bufferPool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * @param codeField 코드 필드 이름 (ErrorResult 는 "code")
+     */
+    public ErrorBodyCache(String codeField) {
+        this.codeField = codeField;
+    }
+
+    public byte[] fixedBody(String code, String message) {
+        Key key = new Key(code, message);
+        byte[] body = fixedBodies.get(key);
+        if (body == null) {
+            body = serialize(code, message);
+            fixedBodies.put(key, body);
+        }
+        return body;
+    }
+
+    public void writeFixed(HttpServletResponse response, int status, String code, String message) throws IOException {
+        byte[] body = fixedBody(code, message);
+        prepare(response, status, body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public void writeDynamic(HttpServletResponse response, int status, String code, String message) throws IOException {
+        ByteArrayOutputStream buffer = borrow();
+        try {
+            serialize(buffer, code, message);
+            prepare(response, status, buffer.size());
+            buffer.writeTo(response.getOutputStream());
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private void prepare(HttpServletResponse response, int status, int contentLength) {
+        response.setStatus(status);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(contentLength);
+    }
+
+    private byte[] serialize(String code, String message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try {
+            serialize(out, code, message);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void serialize(OutputStream out, String code, String message) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeStringField(codeField, code);
+            generator.writeStringField("message", message);
+            generator.writeEndObject();
+        }
+    }
+
+    private ByteArrayOutputStream borrow() {
+        ByteArrayOutputStream buffer = bufferPool.poll();
+        return buffer != null ? buffer : new ByteArrayOutputStream(256);
+    }
+
+    private void release(ByteArrayOutputStream buffer) {
+        // 비정상적으로 큰 메시지로 커진 버퍼는 풀에 돌려놓지 않는다.
+        if (buffer.size() <= MAX_POOLED_BUFFER_SIZE) {
+            buffer.reset();
+            bufferPool.offer(buffer);
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String code;
+        private final String message;
+    }
+}
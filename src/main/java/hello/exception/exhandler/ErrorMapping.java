@@ -0,0 +1,112 @@
+package hello.exception.exhandler;
+
+import hello.exception.UserException;
+import hello.exception.exception.MemberNotFoundException;
+import lombok.Getter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 예외 -> ErrorResult(code, message) + HTTP 상태 코드 매핑
+ * 서블릿(ExControllerAdvice) 과 리액티브(ErrorResultWebExceptionHandler) 가 같은 정의를 사용해서
+ * 어느 쪽으로 요청해도 클라이언트는 같은 에러 응답을 받는다.
+ * 서블릿/리액티브 API 에 의존하지 않도록 이 클래스에서는 javax.servlet, reactor 를 사용하지 않는다.
+ * 메시지는 messages.properties 의 "error.{code}" 로 지역화할 수 있다. (ErrorMessages, 번들이 없으면 아래 기본 메시지)
+ */
+public abstract class ErrorMapping {
+
+    public static final Rule ILLEGAL_ARGUMENT = new Rule(IllegalArgumentException.class, 400, "BAD", null);
+    public static final Rule USER = new Rule(UserException.class, 400, "USER-EX", null);
+    public static final Rule MEMBER_NOT_FOUND = new Rule(MemberNotFoundException.class, 404, "NOT-FOUND", null);
+    // 파라미터 타입 변환 실패 (?data=abc) : 메시지 인자는 파라미터 이름
+    public static final Rule TYPE_MISMATCH = new Rule(TypeMismatchException.class, 400, "TYPE-MISMATCH", null);
+    // 비동기 조회 풀 포화 (TaskRejectedException 포함), 조회 제한 시간 초과, 비동기 요청 타임아웃 : 다시 시도하면 되는 일시적인 상태
+    // LoadSheddingFilter 의 503 응답도 REJECTED 규칙을 사용한다. (같은 code, message)
+    public static final Rule REJECTED = new Rule(RejectedExecutionException.class, 503, "UNAVAILABLE", "잠시 후 다시 시도해 주세요");
+    public static final Rule TIMEOUT = new Rule(TimeoutException.class, 503, "UNAVAILABLE", "잠시 후 다시 시도해 주세요");
+    public static final Rule ASYNC_TIMEOUT = new Rule(AsyncRequestTimeoutException.class, 503, "UNAVAILABLE", "잠시 후 다시 시도해 주세요");
+    // 그 외 모든 예외 (@ResponseStatus, ResponseStatusException 포함) : 내부 정보를 노출하지 않는 고정 메시지
+    public static final Rule DEFAULT = new Rule(Exception.class, 500, "EX", "내부 오류");
+
+    // 구체적인 타입 우선
+    private static final List<Rule> RULES = List.of(ILLEGAL_ARGUMENT, USER, MEMBER_NOT_FOUND, TYPE_MISMATCH,
+            REJECTED, TIMEOUT, ASYNC_TIMEOUT);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    // 예외 타입별 조회 결과 캐시
+    private static final ClassValue<Rule> CACHE = new ClassValue<>() {
+        @Override
+        protected Rule computeValue(Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Rule rule : RULES) {
+                    if (rule.getType() == current) {
+                        return rule;
+                    }
+                }
+            }
+            return DEFAULT;
+        }
+    };
+
+    public static Rule resolve(Throwable ex) {
+        return CACHE.get(ex.getClass());
+    }
+
+    /**
+     * DEFAULT 를 포함한 모든 규칙 (메시지 번들 미리 로딩 등)
+     */
+    public static List<Rule> all() {
+        return List.of(ILLEGAL_ARGUMENT, USER, MEMBER_NOT_FOUND, TYPE_MISMATCH, REJECTED, TIMEOUT, ASYNC_TIMEOUT, DEFAULT);
+    }
+
+    @Getter
+    public static class Rule {
+        private final Class<? extends Throwable> type;
+        private final int status;
+        private final String code;
+        // null 이면 예외 메시지 사용
+        private final String fixedMessage;
+        // 메시지 번들 키
+        private final String messageKey;
+
+        Rule(Class<? extends Throwable> type, int status, String code, String fixedMessage) {
+            this.type = type;
+            this.status = status;
+            this.code = code;
+            this.fixedMessage = fixedMessage;
+            this.messageKey = "error." + code;
+        }
+
+        /**
+         * 메시지 번들 인자 : 고정 메시지는 없음, 회원 없음은 회원 id, 타입 변환 실패는 파라미터 이름, 그 외는 예외 메시지
+         */
+        public Object[] argumentsOf(Throwable ex) {
+            if (fixedMessage != null) {
+                return NO_ARGUMENTS;
+            }
+            if (ex instanceof MemberNotFoundException) {
+                return new Object[]{((MemberNotFoundException) ex).getMemberId()};
+            }
+            if (ex instanceof TypeMismatchException) {
+                return new Object[]{((TypeMismatchException) ex).getPropertyName()};
+            }
+            return new Object[]{ex.getMessage()};
+        }
+
+        public boolean isFixed() {
+            return fixedMessage != null;
+        }
+
+        public String messageOf(Throwable ex) {
+            return fixedMessage != null ? fixedMessage : ex.getMessage();
+        }
+
+        public ErrorResult toErrorResult(Throwable ex) {
+            return new ErrorResult(code, messageOf(ex));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package hello.exception.exhandler;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Locale;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.messages")
+public class ErrorMessageProperties {
+
+    // 기동 시 에러 메시지를 미리 읽어둘 locale
+    private List<Locale> preloadLocales = List.of(Locale.KOREAN, Locale.ENGLISH);
+
+    // (메시지 코드, locale, 인자 수) 별 해석 결과 캐시 최대 개수
+    private int cacheSize = 1024;
+}
@@ -0,0 +1,84 @@
+package hello.exception.exhandler;
+
+import hello.exception.cache.ClockCache;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Locale;
+
+/**
+ * 에러 메시지를 메시지 번들(messages.properties, messages_en.properties)에서 요청 locale 로 찾는다.
+ * (메시지 코드, locale, 인자 수) 별로 번들 조회 + 패턴 해석 결과를 캐시해서
+ * 에러 응답마다 MessageSource 조회, MessageFormat 생성/파싱을 하지 않는다. 인자만 조립한다.
+ * 번들에 없는 코드는 호출한 쪽의 기본 메시지를 사용한다. (없다는 결과도 캐시)
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ErrorMessageProperties.class)
+public class ErrorMessages {
+
+    // 번들에 없는 코드
+    private static final MessageTemplate MISSING = MessageTemplate.literal(null);
+
+    private final MessageSource messageSource;
+    private final ErrorMessageProperties properties;
+    private final ClockCache<Key, MessageTemplate> templates;
+
+    public ErrorMessages(MessageSource messageSource, ErrorMessageProperties properties) {
+        this.messageSource = messageSource;
+        this.properties = properties;
+        this.templates = new ClockCache<>(properties.getCacheSize());
+    }
+
+    /**
+     * 에러 코드의 메시지 (ExControllerAdvice 등) : 번들 키 error.{code}, 인자와 기본 메시지는 Rule 이 정한다.
+     */
+    public String getMessage(ErrorMapping.Rule rule, Throwable ex, Locale locale) {
+        return getMessage(rule.getMessageKey(), rule.argumentsOf(ex), rule.messageOf(ex), locale);
+    }
+
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        int argCount = args == null ? 0 : args.length;
+        Key key = new Key(code, locale, argCount);
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            template = load(code, locale, argCount);
+            // 요청 헤더의 locale 종류가 많아도 캐시가 무한히 커지지 않도록 제한 (가득 차면 자주 쓰지 않는 항목부터 교체)
+            templates.put(key, template);
+        }
+        return template == MISSING ? defaultMessage : template.format(args);
+    }
+
+    // 기동 시 번들을 읽어서 이후 첫 에러 응답에서 번들 로딩이 일어나지 않도록 한다.
+    @PostConstruct
+    public void preload() {
+        for (Locale locale : properties.getPreloadLocales()) {
+            for (ErrorMapping.Rule rule : ErrorMapping.all()) {
+                getMessage(rule.getMessageKey(), new Object[rule.isFixed() ? 0 : 1], null, locale);
+            }
+        }
+        log.info("preloaded {} error messages for {}", templates.size(), properties.getPreloadLocales());
+    }
+
+    private MessageTemplate load(String code, Locale locale, int argCount) {
+        // 인자 없이 조회하면 MessageSource 는 패턴을 해석하지 않은 원문을 반환한다.
+        String pattern = messageSource.getMessage(code, null, null, locale);
+        if (pattern == null) {
+            return MISSING;
+        }
+        return argCount == 0 ? MessageTemplate.literal(pattern) : MessageTemplate.compile(pattern, locale);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String code;
+        private final Locale locale;
+        private final int argCount;
+    }
+}
@@ -0,0 +1,126 @@
+package hello.exception.exhandler;
+
+import hello.exception.cache.ClockCache;
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Locale;
+
+/**
+ * 에러 응답을 JSON 으로 줄지 HTML 로 줄지 Accept 헤더로 결정한다.
+ * ・q 값, 와일드카드(*\/*, application/*, text/*) 를 처리한다. (RFC 7231 : 가장 구체적으로 일치하는 범위의 q 값 사용)
+ * ・q 값이 같으면 더 구체적으로 지정한 쪽, 그것도 같으면 먼저 나온 쪽을 선택한다.
+ *   예) application/json, text/plain, *\/* -> JSON / text/html,...,*\/*;q=0.8 (브라우저) -> HTML
+ * ・Accept 가 없거나, 둘 다 받을 수 없거나, 완전히 같으면 JSON
+ * 클라이언트가 보내는 Accept 값의 종류는 많지 않으므로 헤더 문자열별 결과를 캐시해서 한번만 파싱한다.
+ * 캐시가 가득 차면 자주 쓰지 않는 헤더부터 교체한다. (처음 들어온 헤더로 채워진 뒤 새 클라이언트의 헤더가 매번 파싱되지 않도록)
+ */
+public class ErrorResponseNegotiator {
+
+    // 비정상적인 헤더가 계속 들어와도 캐시가 무한히 커지지 않도록 제한
+    private static final int MAX_CACHED_HEADERS = 512;
+    private static final int MAX_CACHED_HEADER_LENGTH = 512;
+
+    private final ClockCache<String, Boolean> decisions = new ClockCache<>(MAX_CACHED_HEADERS);
+
+    public boolean prefersJson(HttpServletRequest request) {
+        return prefersJson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    public boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        Boolean cached = decisions.get(accept);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean decision = negotiate(accept);
+        if (accept.length() <= MAX_CACHED_HEADER_LENGTH) {
+            decisions.put(accept, decision);
+        }
+        return decision;
+    }
+
+    static boolean negotiate(String accept) {
+        Match json = new Match();
+        Match html = new Match();
+
+        String[] ranges = accept.split(",");
+        for (int position = 0; position < ranges.length; position++) {
+            String[] parts = ranges[position].split(";");
+            String mediaRange = parts[0].trim().toLowerCase(Locale.ROOT);
+            if ("*".equals(mediaRange)) {
+                mediaRange = "*/*";
+            }
+            int slash = mediaRange.indexOf('/');
+            if (slash <= 0 || slash == mediaRange.length() - 1) {
+                continue;
+            }
+            double quality = quality(parts);
+            if (quality < 0) {
+                continue;
+            }
+            String type = mediaRange.substring(0, slash);
+            String subtype = mediaRange.substring(slash + 1);
+            json.offer(specificity(type, subtype, "application", "json"), quality, position);
+            html.offer(specificity(type, subtype, "text", "html"), quality, position);
+        }
+
+        if (json.quality != html.quality) {
+            return json.quality > html.quality;
+        }
+        if (json.quality == 0) {
+            return true;
+        }
+        if (json.specificity != html.specificity) {
+            return json.specificity > html.specificity;
+        }
+        return json.position <= html.position;
+    }
+
+    // 3 : type/subtype 일치, 2 : type/*, 1 : */*, 0 : 불일치
+    private static int specificity(String type, String subtype, String targetType, String targetSubtype) {
+        if ("*".equals(type)) {
+            return "*".equals(subtype) ? 1 : 0;
+        }
+        if (!type.equals(targetType)) {
+            return 0;
+        }
+        if ("*".equals(subtype)) {
+            return 2;
+        }
+        return subtype.equals(targetSubtype) ? 3 : 0;
+    }
+
+    // 잘못된 q 값이면 -1 (해당 범위 무시)
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    double quality = Double.parseDouble(param.substring(2).trim());
+                    return quality < 0 || quality > 1 ? -1 : quality;
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static class Match {
+        private int specificity;
+        private double quality;
+        private int position = Integer.MAX_VALUE;
+
+        void offer(int specificity, double quality, int position) {
+            if (specificity > this.specificity) {
+                this.specificity = specificity;
+                this.quality = quality;
+                this.position = position;
+            }
+        }
+    }
+}
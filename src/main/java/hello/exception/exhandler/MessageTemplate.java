@@ -0,0 +1,105 @@
+package hello.exception.exhandler;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 메시지 번들 패턴을 한번만 해석해서 보관 (ErrorMessages 캐시 값)
+ * "회원을 찾을 수 없습니다. id={0}" 처럼 단순한 {n} 만 있는 패턴은 문자열 조각 + 인자 위치로 나눠서 StringBuilder 로 조립한다.
+ * 따옴표, {0,number} 같은 형식이 있는 패턴은 MessageFormat 을 그대로 사용한다. (스레드 안전하지 않으므로 동기화)
+ * 숫자, 날짜 인자는 MessageFormat 이 locale 에 맞게 형식을 바꾸므로 그 경우에도 MessageFormat 을 사용한다.
+ */
+final class MessageTemplate {
+
+    private final String[] literals;
+    private final int[] indexes;
+    private final MessageFormat format;
+
+    private MessageTemplate(String[] literals, int[] indexes, MessageFormat format) {
+        this.literals = literals;
+        this.indexes = indexes;
+        this.format = format;
+    }
+
+    /**
+     * 인자가 없는 메시지 : MessageSource 와 같이 패턴을 해석하지 않고 그대로 사용
+     */
+    static MessageTemplate literal(String message) {
+        return new MessageTemplate(new String[]{message}, new int[0], null);
+    }
+
+    static MessageTemplate compile(String pattern, Locale locale) {
+        MessageFormat format = new MessageFormat(pattern, locale);
+        List<String> literals = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                return new MessageTemplate(null, null, format);
+            }
+            if (c != '{') {
+                continue;
+            }
+            int end = pattern.indexOf('}', i);
+            int index = end > i + 1 ? parseIndex(pattern, i + 1, end) : -1;
+            if (index < 0) {
+                return new MessageTemplate(null, null, format);
+            }
+            literals.add(pattern.substring(start, i));
+            indexes.add(index);
+            start = end + 1;
+            i = end;
+        }
+        literals.add(pattern.substring(start));
+        return new MessageTemplate(literals.toArray(new String[0]), indexes.stream().mapToInt(Integer::intValue).toArray(), format);
+    }
+
+    String format(Object[] args) {
+        if (literals == null || (format != null && !isPlain(args))) {
+            synchronized (format) {
+                return format.format(args);
+            }
+        }
+        if (indexes.length == 0) {
+            return literals[0];
+        }
+        StringBuilder message = new StringBuilder(64);
+        for (int i = 0; i < indexes.length; i++) {
+            message.append(literals[i]);
+            int index = indexes[i];
+            // MessageFormat 과 같이 없는 인자는 {n} 그대로 남긴다.
+            if (args != null && index < args.length) {
+                message.append(args[index]);
+            } else {
+                message.append('{').append(index).append('}');
+            }
+        }
+        return message.append(literals[indexes.length]).toString();
+    }
+
+    private static boolean isPlain(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg != null && !(arg instanceof CharSequence)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int parseIndex(String pattern, int from, int to) {
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9' || i - from > 3) {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+}
@@ -1,37 +1,89 @@
 package hello.exception.exhandler.advice;
 
 import hello.exception.UserException;
-import hello.exception.exhandler.ErrorResult;
+import hello.exception.exception.MemberNotFoundException;
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import hello.exception.log.ErrorReporter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ExControllerAdvice {
 
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    // ErrorResult 를 메시지 컨버터로 매번 직렬화하는 대신 ErrorBodyCache 로 응답 바디를 직접 쓴다.
+    private final ErrorBodyCache errorBodyCache;
+    // 같은 예외가 반복되면 stack trace 는 window 당 한번만 남기고 나머지는 건수로 요약
+    private final ErrorReporter errorReporter;
+    // 브라우저처럼 text/html 을 선호하는 요청에는 JSON 대신 에러 화면을 보여준다.
+    private final ErrorResponseNegotiator errorResponseNegotiator;
+    // 메시지는 요청 locale 의 메시지 번들에서 찾는다. (error.BAD, error.EX 등)
+    private final ErrorMessages errorMessages;
+
+    // ModelAndView 를 반환하면 뷰로 렌더링하고, null 을 반환하면 응답을 직접 쓴 것으로 처리된다.
+    // 상태 코드, code, message 는 리액티브 스택과 공유하는 ErrorMapping 에 정의되어 있다.
     @ExceptionHandler(IllegalArgumentException.class)
-    public ErrorResult illegalExceptionHandle(IllegalArgumentException e) {
-        log.error("[exceptionHandle] ex", e);
-        return new ErrorResult("BAD", e.getMessage());
+    public ModelAndView illegalExceptionHandle(IllegalArgumentException e, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        errorReporter.error(log, "illegalExceptionHandle", "[exceptionHandle] ex", e);
+        return handle(ErrorMapping.ILLEGAL_ARGUMENT, e, request, response);
+    }
+
+    @ExceptionHandler
+    public ModelAndView userExceptionHandle(UserException e, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        errorReporter.error(log, "userExceptionHandle", "[exceptionHandle] ex", e);
+        return handle(ErrorMapping.USER, e, request, response);
     }
 
     @ExceptionHandler
-    public ResponseEntity<ErrorResult> userExceptionHandle(UserException e) {
-        log.error("[exceptionHandle] ex", e);
-        ErrorResult errorResult = new ErrorResult("USER-EX", e.getMessage());
-        return new ResponseEntity<>(errorResult, HttpStatus.BAD_REQUEST);
+    public ModelAndView memberNotFoundExceptionHandle(MemberNotFoundException e, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        errorReporter.error(log, "memberNotFoundExceptionHandle", "[exceptionHandle] ex", e);
+        return handle(ErrorMapping.MEMBER_NOT_FOUND, e, request, response);
     }
 
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler
-    public ErrorResult exceptionHandle(Exception e) {
-        log.error("[exceptionHandle] ex", e);
-        return new ErrorResult("EX", "내부 오류");
+    public ModelAndView exceptionHandle(Exception e, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        errorReporter.error(log, "exceptionHandle", "[exceptionHandle] ex", e);
+        // 파라미터 타입 변환 실패(TypeMismatchException) 는 400, 나머지는 DEFAULT
+        return handle(ErrorMapping.resolve(e), e, request, response);
+    }
+
+    private ModelAndView handle(ErrorMapping.Rule rule, Exception e, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.valueOf(rule.getStatus());
+        if (!errorResponseNegotiator.prefersJson(request)) {
+            return errorView(status.is5xxServerError() ? "error-page/error/500" : "error-page/error/4xx", status, request);
+        }
+        String message = errorMessages.getMessage(rule, e, RequestContextUtils.getLocale(request));
+        if (rule.isFixed()) {
+            // 고정 메시지 : locale 별로 한번 직렬화한 바디를 재사용
+            errorBodyCache.writeFixed(response, rule.getStatus(), rule.getCode(), message);
+        } else {
+            errorBodyCache.writeDynamic(response, rule.getStatus(), rule.getCode(), message);
+        }
+        return null;
+    }
+
+    // 예외 메시지, stack trace 등 내부 정보는 화면에 넣지 않는다.
+    private ModelAndView errorView(String viewName, HttpStatus status, HttpServletRequest request) {
+        ModelAndView mav = new ModelAndView(viewName, status);
+        mav.addObject("timestamp", new Date());
+        mav.addObject("status", status.value());
+        mav.addObject("error", status.getReasonPhrase());
+        mav.addObject("path", request.getRequestURI());
+        return mav;
     }
     // ApiExceptionV2Controller 의 @ExceptionHandler 모두 제거
 }
@@ -0,0 +1,62 @@
+package hello.exception.filter;
+
+import hello.exception.exhandler.ErrorBodyCache;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+
+/**
+ * 내부 조회 API (/internal/metrics, /internal/stack-traces, /internal/error-events) 접근 제한
+ * stack trace, 요청 URI, 에러 통계가 노출되므로 허용한 주소(기본 : 로컬) 또는 X-Internal-Token 헤더가 맞는 요청만 통과시킨다.
+ * 나머지는 컨트롤러까지 가지 않고 403 ErrorResult 로 바로 응답한다.
+ */
+public class InternalAccessFilter implements Filter {
+
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private static final String CODE = "FORBIDDEN";
+    private static final String MESSAGE = "접근할 수 없습니다";
+
+    private final Set<String> allowedAddresses;
+    // 설정하지 않았으면 null (토큰으로는 허용하지 않는다)
+    private final byte[] token;
+    private final ErrorBodyCache errorBodyCache;
+
+    public InternalAccessFilter(InternalAccessProperties properties, ErrorBodyCache errorBodyCache) {
+        this.allowedAddresses = Set.copyOf(properties.getAllowedAddresses());
+        String token = properties.getToken();
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        this.errorBodyCache = errorBodyCache;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (isAllowed(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        errorBodyCache.writeFixed((HttpServletResponse) response, HttpServletResponse.SC_FORBIDDEN, CODE, MESSAGE);
+    }
+
+    boolean isAllowed(HttpServletRequest request) {
+        if (allowedAddresses.contains(request.getRemoteAddr())) {
+            return true;
+        }
+        if (token == null) {
+            return false;
+        }
+        String header = request.getHeader(TOKEN_HEADER);
+        // 비교 시간으로 토큰을 추측할 수 없도록 고정 시간 비교
+        return header != null && MessageDigest.isEqual(token, header.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,19 @@
+package hello.exception.filter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.internal")
+public class InternalAccessProperties {
+
+    // /internal/** 에 접근할 수 있는 클라이언트 주소 (request.getRemoteAddr() 와 비교, 기본 : 로컬만)
+    private List<String> allowedAddresses = List.of("127.0.0.1", "0:0:0:0:0:0:0:1", "::1");
+
+    // 설정하면 다른 주소에서도 X-Internal-Token 헤더 값이 같으면 허용 (기본 : 없음)
+    private String token;
+}
@@ -0,0 +1,108 @@
+package hello.exception.filter;
+
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.shedding.EndpointShedder;
+import hello.exception.shedding.LoadShedder;
+import lombok.RequiredArgsConstructor;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 에러 폭주 시 요청 차단
+ * 엔드포인트의 최근 5xx 비율이 높으면 컨트롤러, ExControllerAdvice, 에러 페이지까지 가지 않고
+ * 미리 직렬화한 503 ErrorResult 와 Retry-After 로 바로 응답한다.
+ * code, message 는 비동기 풀 포화와 같은 UNAVAILABLE (메시지는 요청의 Accept-Language 로 error.UNAVAILABLE 에서 찾는다)
+ */
+@RequiredArgsConstructor
+public class LoadSheddingFilter implements Filter {
+
+    // 고정 메시지 규칙 (503 UNAVAILABLE)
+    private static final ErrorMapping.Rule RULE = ErrorMapping.REJECTED;
+
+    private final LoadShedder loadShedder;
+    private final ErrorBodyCache errorBodyCache;
+    private final ErrorMessages errorMessages;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        EndpointShedder shedder = loadShedder.shedderFor(httpRequest);
+        if (shedder == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!shedder.tryAcquire(now)) {
+            httpResponse.setHeader("Retry-After", Long.toString(shedder.retryAfterSeconds(now)));
+            // 필터는 DispatcherServlet 의 LocaleResolver 보다 먼저 실행되므로 Accept-Language (request.getLocale()) 사용
+            // locale 별 바디는 ErrorBodyCache 가 한번만 직렬화한다.
+            String message = errorMessages.getMessage(RULE, null, request.getLocale());
+            errorBodyCache.writeFixed(httpResponse, RULE.getStatus(), RULE.getCode(), message);
+            return;
+        }
+
+        boolean error = true;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            error = httpResponse.getStatus() >= 500;
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // 비동기 요청은 ASYNC 디스패치까지 끝난 최종 상태 코드로 집계
+                request.getAsyncContext().addListener(new CompletionListener(shedder, httpResponse));
+            } else {
+                // 예외가 필터까지 올라온 경우도 에러
+                shedder.onComplete(System.currentTimeMillis(), error);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class CompletionListener implements AsyncListener {
+        private final EndpointShedder shedder;
+        private final HttpServletResponse response;
+        private boolean done;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        // onTimeout, onError 다음에도 onComplete 가 호출되므로 한번만 집계
+        private synchronized void finish(boolean error) {
+            if (!done) {
+                done = true;
+                shedder.onComplete(System.currentTimeMillis(), error);
+            }
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package hello.exception.filter;
 
+import hello.exception.log.AccessLog;
+import hello.exception.log.CorrelationId;
+import hello.exception.log.CorrelationIdGenerator;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.util.UUID;
 
 @Slf4j
 public class LogFilter implements Filter {
+
+    private final CorrelationIdGenerator correlationIdGenerator;
+    private final AccessLog accessLog;
+    // 로그를 남길 경로 (정적 리소스 등 제외)
+    private final PathRules pathRules;
+
+    public LogFilter(CorrelationIdGenerator correlationIdGenerator, AccessLog accessLog, PathRules pathRules) {
+        this.correlationIdGenerator = correlationIdGenerator;
+        this.accessLog = accessLog;
+        this.pathRules = pathRules;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         log.info("log filter init");
@@ -17,18 +31,33 @@ public class LogFilter implements Filter {
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+        if (!pathRules.matches(httpServletRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
         String requestURI = httpServletRequest.getRequestURI();
 
-        String uuid = UUID.randomUUID().toString();
+        // 요청 ID 는 한번만 만들고 request attribute, MDC 에 저장 (LogInterceptor, 에러 컨트롤러에서 재사용)
+        // ERROR, ASYNC 디스패치는 같은 request 이므로 기존 ID 가 그대로 사용된다.
+        String uuid = CorrelationId.resolve(httpServletRequest, correlationIdGenerator);
+        boolean mdcBound = CorrelationId.bindMdc(uuid);
         try {
             // DispatchType 로그출력 추가
-            log.info("REQUEST [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            accessLog.info(log, "REQUEST [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
             chain.doFilter(request, response);
         } catch (Exception e) {
             throw e;
         } finally {
             // DispatchType 로그출력 추가
-            log.info("RESPONSE [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            // 비동기 처리가 시작되었으면 응답은 ASYNC 디스패치에서 완료된다. (요청 스레드는 여기서 반환)
+            if (request.isAsyncStarted()) {
+                accessLog.info(log, "ASYNC STARTED [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            } else {
+                accessLog.info(log, "RESPONSE [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            }
+            if (mdcBound) {
+                CorrelationId.unbindMdc();
+            }
         }
     }
 
@@ -0,0 +1,296 @@
+package hello.exception.filter;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * include / exclude 경로 규칙 (LogFilter, LogInterceptor 공통)
+ * 패턴은 생성할 때 한번만 세그먼트 trie 로 컴파일하고, 요청마다 경로를 '/' 단위로 한번만 훑는다. (문자열 생성, 정규식 없음)
+ * trie 로 처리하는 패턴 : 리터럴 세그먼트 ("/error"), 끝의 "/**" ("/css/**"), 마지막 세그먼트의 '*' 하나 ("/*.ico", "/api/*")
+ * 그 외 ({id}, ?, 중간의 ** 등) 는 AntPathMatcher 로 trie 에서 결정되지 않을 때만 확인한다.
+ * 매칭 규칙은 AntPathMatcher 와 같다 : "/css/**" 는 "/css" 도 포함
+ * 단 스프링 MVC 핸들러 매핑 (PathPattern) 과 같이 끝의 '/' 는 있어도 되고 없어도 된다 : "/error" 는 "/error/" 도 포함
+ * 요청은 스프링 MVC 와 같은 lookup path (context path 제외, URL 디코딩, ";jsessionid" 등 제거, "//" 정리) 로 비교한다.
+ * 예) "//css/app.css", "/%63ss/app.css", "/css;jsessionid=1/app.css" 는 모두 "/css/app.css" 로 비교
+ * 대부분의 URI 는 정리할 것이 없으므로 그대로 비교하고, '%', ';', "//" 가 있을 때만 UrlPathHelper 로 lookup path 를 만든다.
+ */
+public final class PathRules {
+
+    // 스프링 부트 MVC 설정과 같이 전체 경로 사용 (서블릿 매핑 "/" 기준), 디코딩, ';' 제거
+    private static final UrlPathHelper LOOKUP_PATH_HELPER = new UrlPathHelper();
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    static {
+        LOOKUP_PATH_HELPER.setAlwaysUseFullPath(true);
+    }
+
+    private final Trie includes;
+    private final Trie excludes;
+
+    private PathRules(Trie includes, Trie excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 요청의 lookup path 가 include 에 해당하고 exclude 에 해당하지 않으면 true
+     */
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (isNormalized(uri)) {
+            return matches(uri, request.getContextPath().length());
+        }
+        return matches(LOOKUP_PATH_HELPER.getLookupPathForRequest(request), 0);
+    }
+
+    /**
+     * 스프링 MVC 와 같은 lookup path (context path 제외, 디코딩, ';' 제거, "//" 정리)
+     * 필터처럼 핸들러 매핑 전에 요청 경로로 판단하는 곳에서 사용한다. (LoadShedder 등)
+     */
+    public static String lookupPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (isNormalized(uri)) {
+            int from = request.getContextPath().length();
+            return from == 0 ? uri : uri.substring(from);
+        }
+        return LOOKUP_PATH_HELPER.getLookupPathForRequest(request);
+    }
+
+    // 디코딩, ';' 제거, "//" 정리가 필요 없는 URI 인지
+    private static boolean isNormalized(String uri) {
+        char previous = 0;
+        for (int i = 0; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c == '%' || c == ';' || (c == '/' && previous == '/')) {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
+
+    public boolean matches(String path) {
+        return matches(path, 0);
+    }
+
+    /**
+     * @param from path 에서 경로가 시작하는 위치 (context path 길이)
+     */
+    public boolean matches(String path, int from) {
+        return (includes.isEmpty() || includes.matches(path, from)) && !excludes.matches(path, from);
+    }
+
+    public static class Builder {
+
+        private final List<String> includes = new ArrayList<>();
+        private final List<String> excludes = new ArrayList<>();
+
+        // include 를 지정하지 않으면 모든 경로
+        public Builder include(String... patterns) {
+            includes.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        public Builder exclude(String... patterns) {
+            excludes.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        public PathRules build() {
+            return new PathRules(Trie.compile(includes), Trie.compile(excludes));
+        }
+    }
+
+    private static final class Trie {
+
+        private final Node root = new Node();
+        // trie 로 처리할 수 없는 패턴 (AntPathMatcher 로 확인)
+        private final List<String> fallbacks = new ArrayList<>();
+        private boolean empty = true;
+
+        static Trie compile(List<String> patterns) {
+            Trie trie = new Trie();
+            for (String pattern : patterns) {
+                trie.add(pattern);
+            }
+            return trie;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        private void add(String pattern) {
+            empty = false;
+            // "/" 는 빈 세그먼트 하나 ("/api/" 의 마지막 빈 세그먼트와 같은 방식)
+            String[] segments = pattern.startsWith("/") ? pattern.substring(1).split("/", -1) : pattern.split("/", -1);
+            if (!isSimple(segments)) {
+                fallbacks.add(pattern);
+                return;
+            }
+            Node node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                boolean last = i == segments.length - 1;
+                if (last && segment.equals("**")) {
+                    node.subtree = true;
+                    return;
+                }
+                int star = segment.indexOf('*');
+                if (last && star >= 0) {
+                    node.addWildcard(segment.substring(0, star), segment.substring(star + 1));
+                    return;
+                }
+                node = node.childOrCreate(segment);
+            }
+            node.terminal = true;
+        }
+
+        // trie 로 처리할 수 있는 패턴인지 : '*' 는 마지막 세그먼트에 하나, "**" 는 마지막 세그먼트 전체로만
+        private static boolean isSimple(String[] segments) {
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                boolean last = i == segments.length - 1;
+                if (segment.indexOf('{') >= 0 || segment.indexOf('?') >= 0) {
+                    return false;
+                }
+                int star = segment.indexOf('*');
+                if (star >= 0) {
+                    if (!last) {
+                        return false;
+                    }
+                    if (!segment.equals("**") && segment.indexOf('*', star + 1) >= 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        boolean matches(String path, int from) {
+            if (empty) {
+                return false;
+            }
+            int length = path.length();
+            if (matches(path, from, length)) {
+                return true;
+            }
+            // 끝의 '/' 를 뺀 경로로 한번 더 ("/" 자체는 제외)
+            return length - from > 1 && path.charAt(length - 1) == '/' && matches(path, from, length - 1);
+        }
+
+        private boolean matches(String path, int from, int length) {
+            if (matchesTrie(path, from, length)) {
+                return true;
+            }
+            if (fallbacks.isEmpty()) {
+                return false;
+            }
+            String lookupPath = path.substring(from, length);
+            for (String pattern : fallbacks) {
+                if (ANT_PATH_MATCHER.match(pattern, lookupPath)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // path 의 [from, length) 구간을 비교한다.
+        private boolean matchesTrie(String path, int from, int length) {
+            Node node = root;
+            int i = from;
+            while (true) {
+                if (node.subtree) {
+                    return true;
+                }
+                if (i >= length) {
+                    return node.terminal;
+                }
+                if (path.charAt(i) != '/') {
+                    return false;
+                }
+                int start = i + 1;
+                int end = path.indexOf('/', start);
+                if (end < 0 || end >= length) {
+                    end = length;
+                    if (node.matchesWildcard(path, start, end)) {
+                        return true;
+                    }
+                }
+                node = node.child(path, start, end);
+                if (node == null) {
+                    return false;
+                }
+                i = end;
+            }
+        }
+    }
+
+    private static final class Node {
+
+        // 자식 수가 적으므로 HashMap (세그먼트 문자열 생성 필요) 대신 배열에서 regionMatches 로 찾는다.
+        private String[] names = new String[0];
+        private Node[] children = new Node[0];
+        // 마지막 세그먼트 "prefix*suffix" 패턴
+        private String[] wildcardPrefixes = new String[0];
+        private String[] wildcardSuffixes = new String[0];
+        // 패턴이 여기서 끝남
+        private boolean terminal;
+        // "/**" : 이 노드와 하위 경로 전체
+        private boolean subtree;
+
+        Node child(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return children[i];
+                }
+            }
+            names = Arrays.copyOf(names, names.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            names[names.length - 1] = name;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+
+        void addWildcard(String prefix, String suffix) {
+            wildcardPrefixes = Arrays.copyOf(wildcardPrefixes, wildcardPrefixes.length + 1);
+            wildcardSuffixes = Arrays.copyOf(wildcardSuffixes, wildcardSuffixes.length + 1);
+            wildcardPrefixes[wildcardPrefixes.length - 1] = prefix;
+            wildcardSuffixes[wildcardSuffixes.length - 1] = suffix;
+        }
+
+        boolean matchesWildcard(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < wildcardPrefixes.length; i++) {
+                String prefix = wildcardPrefixes[i];
+                String suffix = wildcardSuffixes[i];
+                if (prefix.length() + suffix.length() <= length
+                        && path.startsWith(prefix, start)
+                        && path.regionMatches(end - suffix.length(), suffix, 0, suffix.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
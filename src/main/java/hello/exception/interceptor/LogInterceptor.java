@@ -1,41 +1,99 @@
 package hello.exception.interceptor;
 
+import hello.exception.events.ErrorEvents;
+import hello.exception.filter.PathRules;
+import hello.exception.log.AccessLog;
+import hello.exception.log.CorrelationId;
+import hello.exception.log.CorrelationIdGenerator;
+import hello.exception.log.ErrorReporter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.UUID;
 
 @Slf4j
-public class LogInterceptor implements HandlerInterceptor {
+public class LogInterceptor implements AsyncHandlerInterceptor {
 
-    public static final String LOG_ID = "logId";
+    public static final String LOG_ID = CorrelationId.ATTRIBUTE;
+    // 인터셉터가 MDC 를 직접 설정한 경우 (LogFilter 가 없는 경우) afterCompletion 에서 정리
+    private static final String MDC_BOUND = LogInterceptor.class.getName() + ".MDC_BOUND";
+
+    private final CorrelationIdGenerator correlationIdGenerator;
+    private final AccessLog accessLog;
+    private final ErrorReporter errorReporter;
+    private final ErrorEvents errorEvents;
+    // 인터셉터를 적용할 경로 (excludePathPatterns 대신 한번 컴파일한 규칙으로 직접 확인)
+    private final PathRules pathRules;
+
+    public LogInterceptor(CorrelationIdGenerator correlationIdGenerator, AccessLog accessLog, ErrorReporter errorReporter,
+                          ErrorEvents errorEvents, PathRules pathRules) {
+        this.correlationIdGenerator = correlationIdGenerator;
+        this.accessLog = accessLog;
+        this.errorReporter = errorReporter;
+        this.errorEvents = errorEvents;
+        this.pathRules = pathRules;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!pathRules.matches(request)) {
+            return true;
+        }
         String requestURI = request.getRequestURI();
-        String uuid = UUID.randomUUID().toString();
-        request.setAttribute(LOG_ID, uuid);
+        // LogFilter 에서 만든 ID 가 있으면 재사용, 없으면 여기서 생성
+        String uuid = CorrelationId.resolve(request, correlationIdGenerator);
+        if (CorrelationId.bindMdc(uuid)) {
+            request.setAttribute(MDC_BOUND, Boolean.TRUE);
+        }
 
-        log.info("REQUEST [{}][{}][{}][{}]", uuid, request.getDispatcherType(), requestURI, handler);
+        accessLog.info(log, "REQUEST [{}][{}][{}][{}]", uuid, request.getDispatcherType(), requestURI, handler);
         return true;
     }
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        log.info("postHandle [{}]", modelAndView);
+        if (!pathRules.matches(request)) {
+            return;
+        }
+        accessLog.info(log, "postHandle [{}]", modelAndView);
     }
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        if (!pathRules.matches(request)) {
+            return;
+        }
         String requestURI = request.getRequestURI();
         String logId = (String) request.getAttribute(LOG_ID);
 
-        log.info("RESPONSE [{}][{}][{}]", logId, request.getDispatcherType(), requestURI);
+        accessLog.info(log, "RESPONSE [{}][{}][{}]", logId, request.getDispatcherType(), requestURI);
         if (ex != null) {
-            log.error("afterCompletion error!!", ex);
+            errorReporter.error(log, "afterCompletion", "afterCompletion error!!", ex);
+            // 해결되지 않고 WAS 까지 전달되는 예외 (상태 코드는 WAS 가 500 으로 정한다)
+            errorEvents.record(request, ex.getClass().getName(), HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "afterCompletion");
+        }
+        if (request.getAttribute(MDC_BOUND) != null) {
+            request.removeAttribute(MDC_BOUND);
+            CorrelationId.unbindMdc();
+        }
+    }
+
+    /**
+     * 비동기 처리 시작 (CompletableFuture, DeferredResult 반환) : postHandle, afterCompletion 대신 호출된다.
+     * 요청 스레드는 여기서 반환되므로 MDC 를 정리하고, 결과가 준비되면 ASYNC 디스패치에서 preHandle 부터 다시 호출된다.
+     * (request attribute 의 요청 ID 는 그대로 남아 있어서 ASYNC 디스패치도 같은 ID 를 사용한다)
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!pathRules.matches(request)) {
+            return;
+        }
+        accessLog.info(log, "ASYNC STARTED [{}][{}]", request.getAttribute(LOG_ID), request.getRequestURI());
+        if (request.getAttribute(MDC_BOUND) != null) {
+            request.removeAttribute(MDC_BOUND);
+            CorrelationId.unbindMdc();
         }
     }
 }
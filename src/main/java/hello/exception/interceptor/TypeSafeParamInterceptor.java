@@ -0,0 +1,254 @@
+package hello.exception.interceptor;
+
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import hello.exception.metrics.ErrorMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.format.annotation.NumberFormat;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * @RequestParam 숫자(primitive, boxed), enum 파라미터 값을 예외 없이 미리 검사
+ * 기존 : ?data=abc -> NumberFormatException -> MethodArgumentTypeMismatchException -> ExControllerAdvice
+ * 변환에 실패할 값이면 핸들러를 호출하지 않고 여기서 바로 400 TYPE-MISMATCH ErrorResult 를 쓴다.
+ * 스프링 기본 변환(NumberUtils.parseNumber, Enum.valueOf)이 확실히 실패하는 값만 거절하고,
+ * 16진수, 유니코드 숫자처럼 판단이 애매한 값은 그대로 통과시켜서 기존 바인딩에 맡긴다.
+ * 핸들러 메소드별 검사 대상 파라미터는 처음 한번만 계산해서 캐시한다.
+ * JSON 을 선호하지 않는 요청(브라우저)은 기존처럼 에러 화면 경로로 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "exception.type-safe-params.enabled", havingValue = "true")
+public class TypeSafeParamInterceptor implements HandlerInterceptor {
+
+    private static final ParamCheck[] NONE = new ParamCheck[0];
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+    // Double.valueOf 가 받는 문자열 형식 (Double.valueOf javadoc 의 정규식, 16진수 포함)
+    private static final Pattern FLOATING_POINT = Pattern.compile(
+            "[+-]?(NaN|Infinity|((((\\d+)(\\.)?((\\d+)?)([eE][+-]?(\\d+))?)|(\\.((\\d+))([eE][+-]?(\\d+))?)|"
+                    + "((0[xX](\\p{XDigit}+)(\\.)?)|(0[xX](\\p{XDigit}+)?(\\.)(\\p{XDigit}+)))[pP][+-]?(\\d+))[fFdD]?))");
+
+    private final ErrorBodyCache errorBodyCache;
+    private final ErrorMessages errorMessages;
+    private final ErrorResponseNegotiator errorResponseNegotiator;
+    private final ErrorMetrics errorMetrics;
+    private final Map<Method, ParamCheck[]> checks = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        ParamCheck[] paramChecks = checks.get(handlerMethod.getMethod());
+        if (paramChecks == null) {
+            paramChecks = checks.computeIfAbsent(handlerMethod.getMethod(), method -> checksOf(handlerMethod));
+        }
+        for (ParamCheck check : paramChecks) {
+            String value = request.getParameter(check.name);
+            if (value != null && !check.accepts(value)) {
+                return reject(request, response, check.name);
+            }
+        }
+        return true;
+    }
+
+    private boolean reject(HttpServletRequest request, HttpServletResponse response, String name) throws Exception {
+        if (!errorResponseNegotiator.prefersJson(request)) {
+            return true;
+        }
+        ErrorMapping.Rule rule = ErrorMapping.TYPE_MISMATCH;
+        String message = errorMessages.getMessage(rule.getMessageKey(), new Object[]{name},
+                "parameter type mismatch: " + name, RequestContextUtils.getLocale(request));
+        errorBodyCache.writeDynamic(response, rule.getStatus(), rule.getCode(), message);
+        errorMetrics.record(request, TypeMismatchException.class, "typeSafeParam", rule.getStatus());
+        return false;
+    }
+
+    private static ParamCheck[] checksOf(HandlerMethod handlerMethod) {
+        List<ParamCheck> result = new ArrayList<>();
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            // @NumberFormat 은 locale 형식("1,000")을 허용하므로 검사하지 않는다.
+            if (requestParam == null || parameter.hasParameterAnnotation(NumberFormat.class)) {
+                continue;
+            }
+            Kind kind = Kind.of(parameter.getParameterType());
+            if (kind == null) {
+                continue;
+            }
+            String name = requestParam.name();
+            if (!StringUtils.hasLength(name)) {
+                parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+                name = parameter.getParameterName();
+            }
+            if (name == null) {
+                continue;
+            }
+            result.add(new ParamCheck(name, kind, kind == Kind.ENUM ? enumNames(parameter.getParameterType()) : null));
+        }
+        if (!result.isEmpty()) {
+            log.debug("type-safe params {} {}", handlerMethod.getShortLogMessage(), result.size());
+        }
+        return result.isEmpty() ? NONE : result.toArray(NONE);
+    }
+
+    private static Set<String> enumNames(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        for (Object constant : type.getEnumConstants()) {
+            names.add(((Enum<?>) constant).name());
+        }
+        return names;
+    }
+
+    /**
+     * 정수 : 스프링은 공백을 모두 제거한 뒤 10진수면 X.valueOf, 0x, # 로 시작하면 X.decode 로 변환한다.
+     */
+    static boolean isInteger(String value, long min, long max) {
+        int i = skipWhitespace(value, 0);
+        if (i == value.length()) {
+            // 빈 값은 null 로 변환되고, 공백만 있으면 실패
+            return value.isEmpty();
+        }
+        boolean negative = false;
+        char first = value.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = skipWhitespace(value, i + 1);
+        }
+        if (i < value.length()) {
+            char c = value.charAt(i);
+            int next = skipWhitespace(value, i + 1);
+            if (c == '#' || (c == '0' && next < value.length() && (value.charAt(next) == 'x' || value.charAt(next) == 'X'))) {
+                // 16진수는 스프링에 맡긴다.
+                return true;
+            }
+        }
+        long result = 0;
+        // 앞쪽 0 을 제외한 자릿수
+        int digits = 0;
+        boolean seen = false;
+        for (; i < value.length(); i = skipWhitespace(value, i + 1)) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                // 유니코드 숫자는 Integer.valueOf 가 받으므로 스프링에 맡긴다.
+                return c > 127 && Character.isDigit(c);
+            }
+            seen = true;
+            if (result == 0 && c == '0') {
+                continue;
+            }
+            result = result * 10 + (c - '0');
+            // 19자리를 넘으면 long 으로도 넘친다. (Long.MIN_VALUE 는 스프링에 맡긴다)
+            if (++digits > 18 && (digits > 19 || result < 0)) {
+                return negative && digits == 19 && result == Long.MIN_VALUE;
+            }
+        }
+        if (!seen) {
+            return false;
+        }
+        long signed = negative ? -result : result;
+        return signed >= min && signed <= max;
+    }
+
+    private static int skipWhitespace(String value, int index) {
+        while (index < value.length() && Character.isWhitespace(value.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    static boolean isFloatingPoint(String value) {
+        String trimmed = StringUtils.trimAllWhitespace(value);
+        if (trimmed.isEmpty()) {
+            // 빈 값은 null 로 변환되고, 공백만 있으면 실패
+            return value.isEmpty();
+        }
+        for (int i = 0; i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) > 127) {
+                return true;
+            }
+        }
+        return FLOATING_POINT.matcher(trimmed).matches();
+    }
+
+    private enum Kind {
+        BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, ENUM;
+
+        static Kind of(Class<?> type) {
+            if (type == int.class || type == Integer.class) {
+                return INT;
+            }
+            if (type == long.class || type == Long.class) {
+                return LONG;
+            }
+            if (type == short.class || type == Short.class) {
+                return SHORT;
+            }
+            if (type == byte.class || type == Byte.class) {
+                return BYTE;
+            }
+            if (type == double.class || type == Double.class) {
+                return DOUBLE;
+            }
+            if (type == float.class || type == Float.class) {
+                return FLOAT;
+            }
+            if (type.isEnum()) {
+                return ENUM;
+            }
+            return null;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class ParamCheck {
+        private final String name;
+        private final Kind kind;
+        private final Set<String> enumNames;
+
+        boolean accepts(String value) {
+            switch (kind) {
+                case BYTE:
+                    return isInteger(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+                case SHORT:
+                    return isInteger(value, Short.MIN_VALUE, Short.MAX_VALUE);
+                case INT:
+                    return isInteger(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                case LONG:
+                    return isInteger(value, Long.MIN_VALUE, Long.MAX_VALUE);
+                case FLOAT:
+                case DOUBLE:
+                    return isFloatingPoint(value);
+                default:
+                    // 스프링은 빈 값은 null, 그 외는 trim 후 Enum.valueOf
+                    return value.isEmpty() || enumNames.contains(value.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package hello.exception.journal;
+
+import hello.exception.cache.ClockCache;
+import hello.exception.events.ErrorEventListener;
+import hello.exception.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 처리된 에러를 memory-mapped 세그먼트 파일에 바이너리 레코드로 추가한다. (형식은 JournalFormat)
+ * 요청 스레드는 매핑된 메모리에 쓰기만 하므로 파일 I/O 시스템 콜이 없고, JVM 이 죽어도 이미 쓴 레코드는 OS 페이지 캐시에 남는다.
+ * 파일 작업은 모두 별도 스레드(error-journal-flush)에서 한다.
+ * - flush-interval 마다 디스크 동기화(force)
+ * - 다음 세그먼트를 미리 만들어서 매핑 (spare)
+ * - 세그먼트가 가득 차서 spare 로 바꾸면 이름 변경, 이전 세그먼트 force, max-segments 를 넘는 오래된 파일 삭제
+ * spare 가 아직 준비되지 않았으면 (세그먼트가 준비보다 빨리 차는 경우) 기다리지 않고 레코드를 버린다. (error_journal_failed_total)
+ * 조회는 ErrorJournalReader / ErrorJournalCli
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "exception.error-journal.enabled", havingValue = "true")
+@EnableConfigurationProperties(ErrorJournalProperties.class)
+public class ErrorJournal implements ErrorEventListener, MetricsSource {
+
+    // 예외 클래스, 컴포넌트 이름 등 종류가 적은 문자열의 UTF-8 캐시 크기 (가득 차면 자주 쓰지 않는 문자열부터 교체)
+    private static final int MAX_ENCODED = 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ClockCache<String, byte[]> encoded = new ClockCache<>(MAX_ENCODED);
+    private final CRC32 crc = new CRC32();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final ScheduledExecutorService flusher;
+    // spare 파일 번호 (flusher 스레드에서만 사용)
+    private long spareSequence;
+
+    // 아래 필드는 this 로 동기화
+    private MappedByteBuffer segment;
+    private Spare spare;
+    private boolean broken;
+    private volatile boolean dirty;
+
+    public ErrorJournal(ErrorJournalProperties properties) throws IOException {
+        this.directory = Paths.get(properties.getDirectory());
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, properties.getSegmentSize().toBytes());
+        this.maxSegments = Math.max(1, properties.getMaxSegments());
+        Files.createDirectories(directory);
+        deleteSpares();
+        try {
+            // 첫 세그먼트는 기동 스레드에서 준비 (첫 에러 요청이 기다리지 않도록)
+            this.spare = createSpare();
+        } catch (IOException e) {
+            this.broken = true;
+            log.error("error journal disabled: cannot create segment in {}", directory, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "error-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onError(long timestamp, String correlationId, String uri, String dispatcherType,
+                        String exception, int status, String component) {
+        byte[] exceptionBytes = intern(exception);
+        byte[] componentBytes = intern(component);
+        byte[] dispatcherTypeBytes = intern(dispatcherType);
+        byte[] uriBytes = JournalFormat.encode(uri, JournalFormat.MAX_STRING_CHARS);
+        byte[] correlationIdBytes = JournalFormat.encode(correlationId, JournalFormat.MAX_STRING_CHARS);
+        int length = 8 + 2
+                + JournalFormat.stringSize(exceptionBytes)
+                + JournalFormat.stringSize(componentBytes)
+                + JournalFormat.stringSize(uriBytes)
+                + JournalFormat.stringSize(dispatcherTypeBytes)
+                + JournalFormat.stringSize(correlationIdBytes);
+
+        synchronized (this) {
+            if (segment == null || segment.remaining() < JournalFormat.RECORD_HEADER_SIZE + length) {
+                if (!roll(timestamp, length)) {
+                    failed.increment();
+                    return;
+                }
+            }
+            int start = segment.position();
+            segment.position(start + JournalFormat.RECORD_HEADER_SIZE);
+            segment.putLong(timestamp);
+            segment.putShort((short) status);
+            JournalFormat.putString(segment, exceptionBytes);
+            JournalFormat.putString(segment, componentBytes);
+            JournalFormat.putString(segment, uriBytes);
+            JournalFormat.putString(segment, dispatcherTypeBytes);
+            JournalFormat.putString(segment, correlationIdBytes);
+
+            ByteBuffer payload = segment.duplicate();
+            payload.position(start + JournalFormat.RECORD_HEADER_SIZE).limit(segment.position());
+            crc.reset();
+            crc.update(payload);
+            segment.putInt(start + 4, (int) crc.getValue());
+            // 길이를 마지막에 기록 : 길이가 있으면 완성된 레코드
+            segment.putInt(start, length);
+        }
+        dirty = true;
+        appended.increment();
+    }
+
+    // this 로 동기화된 상태에서 호출 : 미리 매핑해 둔 spare 로 바꾸기만 하고, 파일 작업은 flusher 스레드에 넘긴다.
+    private boolean roll(long timestamp, int length) {
+        if (broken || spare == null || JournalFormat.FILE_HEADER_SIZE + JournalFormat.RECORD_HEADER_SIZE + length > segmentSize) {
+            return false;
+        }
+        MappedByteBuffer previous = segment;
+        Spare activated = spare;
+        try {
+            flusher.execute(() -> retire(previous, activated.path, timestamp));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            return false;
+        }
+        spare = null;
+        segment = activated.buffer;
+        return true;
+    }
+
+    // flusher 스레드 : 사용을 시작한 spare 의 이름을 첫 레코드 시각으로 바꾸고, 이전 세그먼트 정리, 다음 spare 준비
+    private void retire(MappedByteBuffer previous, Path activated, long timestamp) {
+        try {
+            Path path = directory.resolve(JournalFormat.segmentName(timestamp));
+            while (Files.exists(path)) {
+                path = directory.resolve(JournalFormat.segmentName(++timestamp));
+            }
+            // 매핑은 파일 이름이 바뀌어도 유지된다.
+            Files.move(activated, path);
+            if (previous != null) {
+                previous.force();
+            }
+            deleteExpired();
+            Spare next = createSpare();
+            synchronized (this) {
+                spare = next;
+            }
+            log.info("error journal segment {}", path);
+        } catch (IOException e) {
+            synchronized (this) {
+                broken = true;
+            }
+            log.error("error journal disabled: cannot prepare segment in {}", directory, e);
+        }
+    }
+
+    private Spare createSpare() throws IOException {
+        Path path = directory.resolve(JournalFormat.spareName(spareSequence++));
+        MappedByteBuffer buffer;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(segmentSize);
+            // 매핑은 채널을 닫아도 유지된다.
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        buffer.putInt(JournalFormat.MAGIC).putInt(JournalFormat.VERSION);
+        return new Spare(path, buffer);
+    }
+
+    private void deleteExpired() throws IOException {
+        List<Path> segments = JournalFormat.segments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            // 삭제된 파일의 매핑은 GC 될 때 해제된다. (리눅스는 매핑 중에도 삭제 가능)
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    // 이전 실행에서 사용하지 않은 spare
+    private void deleteSpares() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files.filter(JournalFormat::isSpare)::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private byte[] intern(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = encoded.get(value);
+        if (bytes == null) {
+            bytes = JournalFormat.encode(value, JournalFormat.MAX_STRING_CHARS);
+            encoded.put(value, bytes);
+        }
+        return bytes;
+    }
+
+    // 다음 세그먼트가 준비되었는지 (세그먼트 전환 직후에는 flusher 스레드가 준비할 때까지 false)
+    synchronized boolean isSpareReady() {
+        return spare != null;
+    }
+
+    void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        MappedByteBuffer current;
+        synchronized (this) {
+            current = segment;
+        }
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# TYPE error_journal_records_total counter\n");
+        out.append("error_journal_records_total ").append(appended.sum()).append('\n');
+        out.append("# TYPE error_journal_failed_total counter\n");
+        out.append("error_journal_failed_total ").append(failed.sum()).append('\n');
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        // 진행 중인 세그먼트 이름 변경, 정리 작업은 마치고 종료
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        dirty = true;
+        flush();
+        Spare unused;
+        synchronized (this) {
+            unused = spare;
+            spare = null;
+        }
+        if (unused != null) {
+            try {
+                Files.deleteIfExists(unused.path);
+            } catch (IOException e) {
+                log.warn("cannot delete spare segment {}", unused.path, e);
+            }
+        }
+    }
+
+    private static class Spare {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+
+        Spare(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package hello.exception.journal;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+
+/**
+ * 에러 저널 조회 CLI (애플리케이션을 띄우지 않고 세그먼트 파일만 읽는다)
+ * ./gradlew errorJournal --args="--dir data/error-journal --from 2022-08-01T00:00:00Z --exception IllegalArgument --status 400"
+ * 출력 : 시각 상태코드 예외 컴포넌트 DispatcherType URI correlationId (탭 구분)
+ */
+public class ErrorJournalCli {
+
+    public static void main(String[] args) throws IOException {
+        String directory = "data/error-journal";
+        ErrorJournalReader.Query query = ErrorJournalReader.Query.all();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--dir":
+                    directory = value;
+                    break;
+                case "--from":
+                    query.from(Instant.parse(value));
+                    break;
+                case "--to":
+                    query.to(Instant.parse(value));
+                    break;
+                case "--exception":
+                    query.exception(value);
+                    break;
+                case "--status":
+                    query.status(Integer.parseInt(value));
+                    break;
+                default:
+                    System.err.println("unknown option: " + args[i]);
+                    System.err.println("usage: [--dir path] [--from ISO-8601] [--to ISO-8601] [--exception name] [--status code]");
+                    System.exit(2);
+            }
+        }
+
+        StringBuilder line = new StringBuilder(256);
+        long matched = new ErrorJournalReader(Paths.get(directory)).scan(query, record -> {
+            line.setLength(0);
+            line.append(Instant.ofEpochMilli(record.getTimestamp())).append('\t')
+                    .append(record.getStatus()).append('\t')
+                    .append(record.getException()).append('\t')
+                    .append(record.getComponent()).append('\t')
+                    .append(record.getDispatcherType()).append('\t')
+                    .append(record.getUri()).append('\t')
+                    .append(record.getCorrelationId() == null ? "-" : record.getCorrelationId());
+            System.out.println(line);
+        });
+        System.err.println(matched + " records");
+    }
+}
@@ -0,0 +1,29 @@
+package hello.exception.journal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.error-journal")
+public class ErrorJournalProperties {
+
+    // true 면 처리된 에러를 세그먼트 파일에 바이너리 레코드로 남긴다.
+    private boolean enabled = false;
+
+    // 세그먼트 파일 디렉토리
+    private String directory = "data/error-journal";
+
+    // 세그먼트 파일 하나의 크기 (가득 차면 새 세그먼트)
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    // 보관할 최대 세그먼트 수 (넘으면 오래된 것부터 삭제)
+    private int maxSegments = 16;
+
+    // 디스크 동기화(force) 주기. JVM 이 죽어도 기록한 레코드는 OS 페이지 캐시에 남고, OS 장애는 마지막 동기화까지 보존
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
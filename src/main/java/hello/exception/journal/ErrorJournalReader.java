@@ -0,0 +1,130 @@
+package hello.exception.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 저널 세그먼트 조회
+ * 세그먼트를 읽기 전용으로 매핑해서 레코드를 차례로 확인하므로 파일 전체를 힙에 올리지 않는다.
+ * 시각, 상태 코드를 먼저 확인하고, 조건에 맞는 레코드만 문자열을 만든다.
+ * 기록 중인 세그먼트도 읽을 수 있다. (완성된 레코드까지만 읽는다)
+ */
+public class ErrorJournalReader {
+
+    // 세그먼트 이름은 첫 레코드 시각이지만, 여러 스레드가 기록하는 순서와 시각이 약간 어긋날 수 있어서 여유를 둔다.
+    private static final long SEGMENT_SLACK_MILLIS = 60_000;
+
+    private final Path directory;
+
+    public ErrorJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return 조건에 맞는 레코드 수
+     */
+    public long scan(Query query, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segments = JournalFormat.segments(directory);
+        long matched = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            long segmentStart = JournalFormat.segmentTimestamp(segments.get(i));
+            long nextStart = i + 1 < segments.size() ? JournalFormat.segmentTimestamp(segments.get(i + 1)) : Long.MAX_VALUE;
+            // 다음 세그먼트가 시작되기 전에 끝나는 범위면 건너뛴다. (Long.MIN_VALUE / MAX_VALUE 는 제한 없음)
+            boolean afterRange = query.to != Long.MAX_VALUE && segmentStart - SEGMENT_SLACK_MILLIS > query.to;
+            boolean beforeRange = nextStart != Long.MAX_VALUE && query.from != Long.MIN_VALUE
+                    && nextStart + SEGMENT_SLACK_MILLIS < query.from;
+            if (afterRange || beforeRange) {
+                continue;
+            }
+            matched += scanSegment(segments.get(i), query, consumer);
+        }
+        return matched;
+    }
+
+    private long scanSegment(Path path, Query query, Consumer<JournalRecord> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < JournalFormat.FILE_HEADER_SIZE
+                || buffer.getInt(0) != JournalFormat.MAGIC || buffer.getInt(4) != JournalFormat.VERSION) {
+            return 0;
+        }
+
+        CRC32 crc = new CRC32();
+        long matched = 0;
+        int position = JournalFormat.FILE_HEADER_SIZE;
+        while (position + JournalFormat.RECORD_HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            int payloadStart = position + JournalFormat.RECORD_HEADER_SIZE;
+            if (length <= 0 || payloadStart + length > buffer.limit()) {
+                break;
+            }
+            buffer.limit(payloadStart + length).position(payloadStart);
+            crc.reset();
+            crc.update(buffer);
+            buffer.limit(buffer.capacity());
+            // 기록 도중 중단된 레코드 (JVM 장애 등)
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+
+            long timestamp = buffer.getLong(payloadStart);
+            int status = buffer.getShort(payloadStart + 8) & 0xFFFF;
+            if (timestamp >= query.from && timestamp <= query.to && (query.status == 0 || status == query.status)) {
+                buffer.position(payloadStart + 10);
+                String exception = JournalFormat.getString(buffer);
+                if (query.exception == null || (exception != null && exception.contains(query.exception))) {
+                    consumer.accept(new JournalRecord(timestamp, status, exception,
+                            JournalFormat.getString(buffer), JournalFormat.getString(buffer),
+                            JournalFormat.getString(buffer), JournalFormat.getString(buffer)));
+                    matched++;
+                }
+            }
+            position = payloadStart + length;
+        }
+        return matched;
+    }
+
+    /**
+     * 조회 조건 (지정하지 않은 조건은 전체)
+     */
+    public static class Query {
+        private long from = Long.MIN_VALUE;
+        private long to = Long.MAX_VALUE;
+        private String exception;
+        private int status;
+
+        public static Query all() {
+            return new Query();
+        }
+
+        public Query from(Instant from) {
+            this.from = from.toEpochMilli();
+            return this;
+        }
+
+        public Query to(Instant to) {
+            this.to = to.toEpochMilli();
+            return this;
+        }
+
+        // 예외 클래스 이름에 포함된 문자열 (예 : IllegalArgument)
+        public Query exception(String exception) {
+            this.exception = exception;
+            return this;
+        }
+
+        public Query status(int status) {
+            this.status = status;
+            return this;
+        }
+    }
+}
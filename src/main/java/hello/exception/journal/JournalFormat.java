@@ -0,0 +1,117 @@
+package hello.exception.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 저널 세그먼트 파일 형식 (ErrorJournal, ErrorJournalReader 공통)
+ *
+ * 파일 : errors-{첫 레코드 시각 epoch millis 13자리}.journal, 크기 고정 (0 으로 채워진 상태로 생성)
+ *       미리 만들어 둔 다음 세그먼트는 errors-spare-{번호}.journal.tmp 이고, 사용을 시작하면 위 이름으로 바뀐다.
+ * 헤더 : int MAGIC, int VERSION
+ * 레코드 : int 길이, int CRC32, payload
+ * payload : long timestamp, short status, 문자열 5개 (exception, component, uri, dispatcherType, correlationId)
+ * 문자열 : unsigned short 길이 + UTF-8
+ * 길이는 payload 와 CRC 를 다 쓴 뒤 마지막에 기록한다. 길이가 0 이거나 CRC 가 맞지 않으면 세그먼트의 끝으로 본다.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4552524A; // "ERRJ"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+    // 문자열 하나의 최대 문자 수 (UTF-8 로 3배가 되어도 unsigned short 길이 안에 들어간다)
+    static final int MAX_STRING_CHARS = 1024;
+
+    private static final String PREFIX = "errors-";
+    private static final String SUFFIX = ".journal";
+    private static final String SPARE_PREFIX = PREFIX + "spare-";
+    private static final String SPARE_SUFFIX = SUFFIX + ".tmp";
+
+    private JournalFormat() {
+    }
+
+    static String segmentName(long timestamp) {
+        return String.format("%s%013d%s", PREFIX, timestamp, SUFFIX);
+    }
+
+    static String spareName(long sequence) {
+        return SPARE_PREFIX + sequence + SPARE_SUFFIX;
+    }
+
+    static boolean isSpare(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SPARE_PREFIX) && name.endsWith(SPARE_SUFFIX);
+    }
+
+    static long segmentTimestamp(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * 디렉토리의 세그먼트 파일 (오래된 순서)
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(JournalFormat::isSegment).forEach(segments::add);
+        }
+        // 시각이 고정 길이이므로 이름 순서 = 시간 순서
+        Collections.sort(segments);
+        return segments;
+    }
+
+    static int stringSize(byte[] bytes) {
+        return 2 + bytes.length;
+    }
+
+    static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void skipString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * UTF-8 로 변환. maxChars 를 넘는 문자열은 잘라서 저장 (URI 등 외부 입력)
+     */
+    static byte[] encode(String value, int maxChars) {
+        if (value == null || value.isEmpty()) {
+            return new byte[0];
+        }
+        if (value.length() > maxChars) {
+            value = value.substring(0, maxChars);
+        }
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX)
+                && name.length() == PREFIX.length() + 13 + SUFFIX.length();
+    }
+}
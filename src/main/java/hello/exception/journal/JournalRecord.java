@@ -0,0 +1,22 @@
+package hello.exception.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 저널 레코드 하나 (ErrorJournalReader 가 조건에 맞는 레코드만 만든다)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class JournalRecord {
+    // epoch millis
+    private final long timestamp;
+    private final int status;
+    private final String exception;
+    private final String component;
+    private final String uri;
+    private final String dispatcherType;
+    private final String correlationId;
+}
@@ -0,0 +1,32 @@
+package hello.exception.log;
+
+import org.slf4j.Logger;
+
+/**
+ * 요청/응답 로그 출력
+ * 인자는 요청 스레드에서 문자열로 만들지 않고 그대로 넘긴다. (포맷팅은 구현체에서 처리)
+ * 다른 스레드에서 포맷팅하는 구현체는 가변 객체를 넘겨받은 시점의 값으로 고정해야 한다. (AsyncAccessLogPipeline 참고)
+ */
+public interface AccessLog {
+
+    // 이벤트 하나가 가질 수 있는 최대 인자 수 (고정 레이아웃)
+    int MAX_ARGS = 6;
+
+    void info(Logger logger, String format, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5);
+
+    default void info(Logger logger, String format, Object arg0) {
+        info(logger, format, arg0, null, null, null, null, null);
+    }
+
+    default void info(Logger logger, String format, Object arg0, Object arg1) {
+        info(logger, format, arg0, arg1, null, null, null, null);
+    }
+
+    default void info(Logger logger, String format, Object arg0, Object arg1, Object arg2) {
+        info(logger, format, arg0, arg1, arg2, null, null, null);
+    }
+
+    default void info(Logger logger, String format, Object arg0, Object arg1, Object arg2, Object arg3) {
+        info(logger, format, arg0, arg1, arg2, arg3, null, null);
+    }
+}
@@ -0,0 +1,18 @@
+package hello.exception.log;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    @Bean
+    public AccessLog accessLog(AccessLogProperties properties) {
+        if (properties.isAsync()) {
+            return new AsyncAccessLogPipeline(properties);
+        }
+        return new SyncAccessLog();
+    }
+}
@@ -0,0 +1,30 @@
+package hello.exception.log;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "log.access")
+public class AccessLogProperties {
+
+    // true : 요청 스레드는 이벤트만 넣고, 별도 스레드가 모아서 로그를 남긴다.
+    private boolean async = false;
+
+    // 링 버퍼 크기 (2의 제곱수로 올림)
+    private int capacity = 8192;
+
+    // 한번에 꺼내서 처리하는 이벤트 수
+    private int batchSize = 256;
+
+    // 버퍼가 가득 찼을 때 동작
+    private Overflow overflow = Overflow.DROP;
+
+    public enum Overflow {
+        // 이벤트를 버리고 dropped 카운터 증가 (요청 스레드는 절대 기다리지 않는다)
+        DROP,
+        // 빈 자리가 생길 때까지 요청 스레드가 기다린다. (로그 유실 없음)
+        BLOCK
+    }
+}
@@ -0,0 +1,223 @@
+package hello.exception.log;
+
+import hello.exception.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 요청/응답 로그 파이프라인
+ * ・요청 스레드 : 미리 할당된 링 버퍼 슬롯에 이벤트(로거, 포맷, 인자, 요청 ID)를 채우기만 한다. (락 없음, CAS 만 사용)
+ *   인자는 발행 시점의 값으로 고정한다. 불변 타입(String, 숫자, enum 등)은 그대로, 나머지는 String.valueOf 로 변환
+ *   (ModelAndView, handler 처럼 요청 처리 중에 바뀌는 객체를 writer 스레드가 나중에 읽지 않도록)
+ * ・writer 스레드 1개 : 버퍼에서 batchSize 만큼씩 꺼내서 로그를 남긴다.
+ * 로그 appender 가 느려져도 요청 스레드의 응답 시간에는 영향을 주지 않는다.
+ * 참고 : 로그에 찍히는 시간은 writer 스레드가 기록한 시간이다.
+ */
+@Slf4j
+public class AsyncAccessLogPipeline implements AccessLog, MetricsSource, InitializingBean, DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final long BLOCK_PARK_NANOS = 50_000L;
+
+    private final AccessLogProperties.Overflow overflow;
+    private final int batchSize;
+    private final int mask;
+    private final Event[] events;
+    // 슬롯별 시퀀스 (Vyukov bounded queue) : 생산자/소비자가 슬롯 상태를 판단하는 기준
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // writer 스레드만 접근
+    private long head;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncAccessLogPipeline(AccessLogProperties properties) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getCapacity() - 1)) << 1;
+        this.overflow = properties.getOverflow();
+        this.batchSize = properties.getBatchSize();
+        this.mask = capacity - 1;
+        this.events = new Event[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event();
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        writer = new Thread(this::drainLoop, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void info(Logger logger, String format, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        long position = claim();
+        if (position < 0) {
+            dropped.increment();
+            return;
+        }
+        int index = (int) (position & mask);
+        events[index].set(logger, format, MDC.get(CorrelationId.MDC_KEY), arg0, arg1, arg2, arg3, arg4, arg5);
+        // 슬롯 공개 : writer 는 sequence 가 position + 1 이 된 슬롯만 읽는다.
+        sequences.lazySet(index, position + 1);
+        published.increment();
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# TYPE access_log_published_total counter\n");
+        out.append("access_log_published_total ").append(getPublishedCount()).append('\n');
+        out.append("# TYPE access_log_dropped_total counter\n");
+        out.append("access_log_dropped_total ").append(getDroppedCount()).append('\n');
+    }
+
+    /**
+     * 쓸 슬롯 위치를 확보한다. 가득 찬 경우 DROP 이면 -1
+     */
+    private long claim() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 가득 참
+                if (overflow == AccessLogProperties.Overflow.DROP || !running) {
+                    return -1;
+                }
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        // 종료 시 남은 이벤트 처리
+        while (drain() > 0) {
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        while (count < batchSize) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            Event event = events[index];
+            try {
+                event.write();
+            } catch (RuntimeException e) {
+                log.warn("access log write failed", e);
+            }
+            event.clear();
+            // 슬롯 반환 : 다음 바퀴의 생산자가 사용할 수 있도록 시퀀스를 capacity 만큼 앞으로
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(5_000);
+        }
+        log.info("access log pipeline stopped. published={}, dropped={}", getPublishedCount(), getDroppedCount());
+    }
+
+    /**
+     * 고정 레이아웃 이벤트 (슬롯마다 하나씩 미리 할당해서 재사용)
+     */
+    private static class Event {
+        private Logger logger;
+        private String format;
+        // 발행한 요청 스레드의 MDC 요청 ID (writer 스레드에서 로그를 남기는 동안만 MDC 에 복원)
+        private String requestId;
+        private final Object[] args = new Object[MAX_ARGS];
+
+        void set(Logger logger, String format, String requestId, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+            this.logger = logger;
+            this.format = format;
+            this.requestId = requestId;
+            args[0] = snapshot(arg0);
+            args[1] = snapshot(arg1);
+            args[2] = snapshot(arg2);
+            args[3] = snapshot(arg3);
+            args[4] = snapshot(arg4);
+            args[5] = snapshot(arg5);
+        }
+
+        void write() {
+            if (requestId == null) {
+                logger.info(format, args);
+                return;
+            }
+            MDC.put(CorrelationId.MDC_KEY, requestId);
+            try {
+                logger.info(format, args);
+            } finally {
+                MDC.remove(CorrelationId.MDC_KEY);
+            }
+        }
+
+        void clear() {
+            logger = null;
+            format = null;
+            requestId = null;
+            for (int i = 0; i < args.length; i++) {
+                args[i] = null;
+            }
+        }
+
+        /**
+         * 불변 타입은 그대로 두고 (포맷팅은 writer 스레드에서), 나머지는 지금 값으로 문자열을 만든다.
+         */
+        private static Object snapshot(Object arg) {
+            if (arg == null || arg instanceof String || arg instanceof Enum
+                    || arg instanceof Integer || arg instanceof Long || arg instanceof Boolean || arg instanceof Character) {
+                return arg;
+            }
+            return String.valueOf(arg);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package hello.exception.log;
+
+import org.slf4j.MDC;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 요청 하나에 대해 LogFilter, LogInterceptor, 에러 컨트롤러가 같은 ID 를 사용하도록 공유
+ * ID 는 request attribute 와 MDC 에 저장한다. (ERROR 디스패치도 같은 request 이므로 그대로 재사용된다)
+ */
+public abstract class CorrelationId {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String ATTRIBUTE = "logId";
+    public static final String MDC_KEY = "requestId";
+
+    // 외부에서 들어온 ID 를 그대로 로그에 남기므로 길이, 문자를 제한한다.
+    private static final int MAX_HEADER_LENGTH = 64;
+
+    /**
+     * 이미 할당된 ID -> X-Request-Id 헤더 -> 새로 생성 순서로 찾고, request attribute 에 저장한다.
+     */
+    public static String resolve(HttpServletRequest request, CorrelationIdGenerator generator) {
+        String id = get(request);
+        if (id != null) {
+            return id;
+        }
+        id = request.getHeader(HEADER);
+        if (!isValid(id)) {
+            id = generator.generate();
+        }
+        request.setAttribute(ATTRIBUTE, id);
+        return id;
+    }
+
+    public static String get(HttpServletRequest request) {
+        return (String) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * MDC 에 ID 를 넣는다. 이미 같은 ID 가 있으면 false (정리는 처음 넣은 쪽에서 한다)
+     */
+    public static boolean bindMdc(String id) {
+        if (id.equals(MDC.get(MDC_KEY))) {
+            return false;
+        }
+        MDC.put(MDC_KEY, id);
+        return true;
+    }
+
+    public static void unbindMdc() {
+        MDC.remove(MDC_KEY);
+    }
+
+    private static boolean isValid(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
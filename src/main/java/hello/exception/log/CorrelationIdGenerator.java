@@ -0,0 +1,10 @@
+package hello.exception.log;
+
+/**
+ * 요청 추적용 ID 생성기
+ * 다른 방식이 필요하면 이 인터페이스를 구현한 빈을 @Primary 로 등록하면 된다.
+ */
+public interface CorrelationIdGenerator {
+
+    String generate();
+}
@@ -0,0 +1,25 @@
+package hello.exception.log;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "log.error-report")
+public class ErrorReportProperties {
+
+    // false 면 기존처럼 매번 전체 stack trace 를 남긴다. (기본 false)
+    private boolean enabled = false;
+
+    // 같은 예외의 전체 stack trace 는 window 당 한번만 남긴다. 나머지는 window 마다 건수만 요약
+    private Duration window = Duration.ofSeconds(60);
+
+    // fingerprint 에 포함할 상위 stack frame 수
+    private int topFrames = 5;
+
+    // 추적하는 fingerprint 최대 개수
+    private int maxEntries = 1024;
+}
@@ -0,0 +1,173 @@
+package hello.exception.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 에러 로그 중복 제거
+ * 같은 fingerprint 의 예외는 window 당 한번만 전체 stack trace 를 남기고,
+ * 나머지는 건수만 세었다가 window 마다 "N more occurrences" 로 요약해서 남긴다.
+ * 카운트는 ConcurrentHashMap(버킷 단위 분할) + LongAdder(스레드별 셀) 에 보관하므로 요청 스레드끼리 락 경합이 없다.
+ * 오래된 fingerprint 제거는 window 마다 요약 스레드에서만 한다. (가득 차 있는 동안 새 예외는 추적하지 않고 기존처럼 남긴다)
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ErrorReportProperties.class)
+public class ErrorReporter {
+
+    private final ErrorReportProperties properties;
+    private final StackTraceFormatter stackTraceFormatter;
+    private final long windowNanos;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // maxEntries 를 넘어서 추적하지 못한 예외 수
+    private final LongAdder untracked = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+
+    public ErrorReporter(ErrorReportProperties properties, StackTraceFormatter stackTraceFormatter) {
+        this.properties = properties;
+        this.stackTraceFormatter = stackTraceFormatter;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "error-report-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = properties.getWindow().toMillis();
+        scheduler.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * log.error(message, e) 대신 사용
+     * @param handler 예외를 처리한 핸들러 이름 (fingerprint 에 포함)
+     */
+    public void error(Logger logger, String handler, String message, Throwable e) {
+        if (!properties.isEnabled()) {
+            logFull(logger, message, null, e);
+            return;
+        }
+
+        long now = System.nanoTime();
+        long fingerprint = ExceptionFingerprint.of(e, handler, properties.getTopFrames());
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            if (entries.size() >= properties.getMaxEntries()) {
+                // 더 이상 추적할 수 없으면 기존처럼 남긴다. (요청 스레드에서 전체 map 을 훑으며 제거하지 않는다)
+                untracked.increment();
+                logFull(logger, message, null, e);
+                return;
+            }
+            Entry created = new Entry(logger, handler, e.getClass().getName(), now);
+            entry = entries.putIfAbsent(fingerprint, created);
+            if (entry == null) {
+                logFull(logger, message, Long.toHexString(fingerprint), e);
+                return;
+            }
+        }
+
+        entry.lastSeen = now;
+        long windowStart = entry.windowStart;
+        if (now - windowStart >= windowNanos && entry.startWindow(windowStart, now)) {
+            // 새 window 의 첫 발생은 다시 전체 stack trace 를 남긴다.
+            logFull(logger, message, Long.toHexString(fingerprint), e);
+            return;
+        }
+        entry.suppressed.increment();
+    }
+
+    // stack trace 포맷을 StackTraceFormatter 에 넘기면 요청 스레드는 예외 요약과 stack id 만 남긴다.
+    private void logFull(Logger logger, String message, String fingerprint, Throwable e) {
+        if (!stackTraceFormatter.isEnabled()) {
+            if (fingerprint == null) {
+                logger.error(message, e);
+            } else {
+                logger.error("{} [fingerprint={}]", message, fingerprint, e);
+            }
+            return;
+        }
+        String stack = stackTraceFormatter.submit(logger, message, e);
+        if (fingerprint == null) {
+            logger.error("{} {}: {} [stack={}]", message, e.getClass().getName(), e.getMessage(), stack);
+        } else {
+            logger.error("{} [fingerprint={}] {}: {} [stack={}]", message, fingerprint, e.getClass().getName(), e.getMessage(), stack);
+        }
+    }
+
+    /**
+     * window 마다 생략된 건수를 요약해서 남기고, 오래 발생하지 않은 fingerprint 는 제거
+     */
+    void flush() {
+        for (Map.Entry<Long, Entry> mapEntry : entries.entrySet()) {
+            Entry entry = mapEntry.getValue();
+            long suppressed = entry.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                entry.logger.warn("[{}] {} more occurrences of {} in last {}s [fingerprint={}]",
+                        entry.handler, suppressed, entry.type, properties.getWindow().getSeconds(), Long.toHexString(mapEntry.getKey()));
+            }
+        }
+        evictIdle(System.nanoTime());
+        long untrackedCount = untracked.sumThenReset();
+        if (untrackedCount > 0) {
+            log.warn("{} errors were not deduplicated (max-entries={})", untrackedCount, properties.getMaxEntries());
+        }
+    }
+
+    private void evictIdle(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.lastSeen >= windowNanos * 2 && entry.suppressed.sum() == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 추적 중인 fingerprint 를 모두 지운다. (기동 시 warm-up 으로 발생시킨 에러 때문에 실제 첫 에러의 stack trace 가 생략되지 않도록)
+     */
+    public void reset() {
+        entries.clear();
+        untracked.reset();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private static class Entry {
+        private static final AtomicLongFieldUpdater<Entry> WINDOW_START = AtomicLongFieldUpdater.newUpdater(Entry.class, "windowStart");
+
+        private final Logger logger;
+        private final String handler;
+        private final String type;
+        private final LongAdder suppressed = new LongAdder();
+        private volatile long windowStart;
+        private volatile long lastSeen;
+
+        Entry(Logger logger, String handler, String type, long now) {
+            this.logger = logger;
+            this.handler = handler;
+            this.type = type;
+            this.windowStart = now;
+            this.lastSeen = now;
+        }
+
+        // 여러 스레드가 동시에 window 를 넘긴 경우 CAS 에 성공한 한 스레드만 전체 로그를 남긴다.
+        boolean startWindow(long expected, long now) {
+            return WINDOW_START.compareAndSet(this, expected, now);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package hello.exception.log;
+
+/**
+ * 예외 fingerprint : 예외 타입 + 상위 N 개 stack frame + 처리한 핸들러
+ * 메시지는 포함하지 않는다. (같은 위치에서 값만 다른 예외는 같은 것으로 본다)
+ */
+public abstract class ExceptionFingerprint {
+
+    public static long of(Throwable e, String handler, int topFrames) {
+        long hash = mix(1125899906842597L, handler.hashCode());
+        hash = mix(hash, e.getClass().getName().hashCode());
+        StackTraceElement[] frames = e.getStackTrace();
+        int limit = Math.min(topFrames, frames.length);
+        for (int i = 0; i < limit; i++) {
+            StackTraceElement frame = frames[i];
+            hash = mix(hash, frame.getClassName().hashCode());
+            hash = mix(hash, frame.getMethodName().hashCode());
+            hash = mix(hash, frame.getLineNumber());
+        }
+        return hash;
+    }
+
+    /**
+     * 전체 stack trace fingerprint : cause, suppressed 를 포함한 모든 예외 타입과 frame (StackTraceFormatter 캐시 키)
+     * 같은 값이면 메시지를 제외한 stack trace 문자열이 같다.
+     */
+    public static long ofStack(Throwable e, int maxCauses) {
+        long hash = 1125899906842597L;
+        int depth = 0;
+        for (Throwable current = e; current != null && depth <= maxCauses; current = current.getCause(), depth++) {
+            hash = mixThrowable(hash, current);
+            for (Throwable suppressed : current.getSuppressed()) {
+                hash = mixThrowable(mix(hash, 's'), suppressed);
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return hash;
+    }
+
+    private static long mixThrowable(long hash, Throwable e) {
+        hash = mix(hash, e.getClass().getName().hashCode());
+        for (StackTraceElement frame : e.getStackTrace()) {
+            hash = mix(hash, frame.getClassName().hashCode());
+            hash = mix(hash, frame.getMethodName().hashCode());
+            hash = mix(hash, frame.getLineNumber());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+}
@@ -0,0 +1,34 @@
+package hello.exception.log;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 백그라운드에서 포맷된 stack trace 조회
+ * 로그의 [stack=id] 로 전체 stack trace 를 찾는다. (curl localhost:8080/internal/stack-traces/{id})
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "log.stack-trace.enabled", havingValue = "true")
+public class StackTraceController {
+
+    private final StackTraceFormatter stackTraceFormatter;
+
+    @GetMapping("/internal/stack-traces")
+    public List<StackTraceFormatter.Entry> list() {
+        return stackTraceFormatter.entries();
+    }
+
+    @GetMapping(value = "/internal/stack-traces/{id}", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> get(@PathVariable String id) {
+        String text = stackTraceFormatter.find(id);
+        return text == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(text);
+    }
+}
@@ -0,0 +1,266 @@
+package hello.exception.log;
+
+import hello.exception.metrics.MetricsSource;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * stack trace 문자열 생성을 요청 스레드에서 분리
+ * 요청 스레드는 전체 stack fingerprint 만 계산해서 id 를 돌려받고, 문자열 생성과 출력은 백그라운드 스레드 하나가 한다.
+ * 같은 stack 은 한번만 포맷해서 캐시하고 (/internal/stack-traces/{id}) 로그에도 처음 한번만 전체를 남긴다.
+ * 스프링, 톰캣 등 trimPackages 의 연속된 frame 은 "... N frames" 한 줄로 줄인다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(StackTraceProperties.class)
+public class StackTraceFormatter implements MetricsSource {
+
+    private final StackTraceProperties properties;
+    private final String[] trimPackages;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // 제거 순서 (먼저 들어온 것부터)
+    private final Queue<Long> order = new ConcurrentLinkedQueue<>();
+    private final LongAdder formatted = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadPoolExecutor executor;
+
+    public StackTraceFormatter(StackTraceProperties properties) {
+        this.properties = properties;
+        this.trimPackages = properties.getTrimPackages().toArray(new String[0]);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+            Thread thread = new Thread(runnable, "stack-trace-formatter");
+            thread.setDaemon(true);
+            // 요청 스레드보다 우선하지 않도록
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 포맷을 예약하고 stack id 를 돌려준다. (이미 포맷한 stack 이면 캐시된 id 만 돌려준다.)
+     * 새 stack 이면 포맷이 끝난 뒤 백그라운드 스레드에서 logger 로 전체 stack trace 를 한번 남긴다.
+     */
+    public String submit(Logger logger, String message, Throwable e) {
+        long fingerprint = ExceptionFingerprint.ofStack(e, properties.getMaxCauses());
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            while (entries.size() >= properties.getMaxEntries()) {
+                Long oldest = order.poll();
+                if (oldest == null) {
+                    break;
+                }
+                entries.remove(oldest);
+            }
+            Entry created = new Entry(Long.toHexString(fingerprint), e.getClass().getName(), String.valueOf(e.getMessage()));
+            entry = entries.putIfAbsent(fingerprint, created);
+            if (entry == null) {
+                order.offer(fingerprint);
+                try {
+                    executor.execute(() -> format(created, logger, message, e));
+                } catch (RejectedExecutionException rejected) {
+                    // 큐가 가득 차면 포맷을 건너뛰고, 다음 발생 때 다시 시도하도록 지운다.
+                    dropped.increment();
+                    remove(fingerprint, created);
+                }
+                return created.id;
+            }
+        }
+        entry.hit();
+        reused.increment();
+        return entry.id;
+    }
+
+    /**
+     * 포맷된 stack trace (포맷 전이거나 제거되었으면 null)
+     */
+    public String find(String id) {
+        long fingerprint;
+        try {
+            fingerprint = Long.parseUnsignedLong(id, 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        Entry entry = entries.get(fingerprint);
+        return entry == null ? null : entry.text;
+    }
+
+    /**
+     * 보관 중인 stack 요약 (최근 발생 순)
+     */
+    public List<Entry> entries() {
+        List<Entry> result = new ArrayList<>(entries.values());
+        result.sort((a, b) -> Long.compare(b.lastSeen, a.lastSeen));
+        return result;
+    }
+
+    /**
+     * 보관 중인 stack 을 모두 지운다. (기동 시 warm-up 으로 발생시킨 에러의 stack 이 목록과 조회에 남지 않도록)
+     * 다시 발생하면 새 stack 으로 포맷해서 로그에 전체를 남긴다.
+     */
+    public void clear() {
+        entries.clear();
+        order.clear();
+    }
+
+    private void format(Entry entry, Logger logger, String message, Throwable e) {
+        try {
+            StringBuilder out = new StringBuilder(2048);
+            append(out, e, null, "", "", Collections.newSetFromMap(new IdentityHashMap<>()), 0);
+            entry.text = out.toString();
+            formatted.increment();
+            logger.error("{} [stack={}]\n{}", message, entry.id, entry.text);
+        } catch (RuntimeException formatError) {
+            log.warn("stack trace 포맷 실패 [stack={}]", entry.id, formatError);
+            remove(Long.parseUnsignedLong(entry.id, 16), entry);
+        }
+    }
+
+    // 제거 순서에서도 지운다. (남겨두면 같은 stack 이 다시 추가됐을 때 오래된 id 로 새 항목이 먼저 제거된다.)
+    // 큐 포화, 포맷 실패 때만 호출되므로 order 를 순회하는 비용은 문제되지 않는다.
+    private void remove(long fingerprint, Entry entry) {
+        if (entries.remove(fingerprint, entry)) {
+            order.remove(fingerprint);
+        }
+    }
+
+    // Throwable.printStackTrace 와 같은 형식 (enclosing 과 공통인 끝부분 frame 은 "... N more")
+    private void append(StringBuilder out, Throwable e, StackTraceElement[] enclosing, String caption, String prefix,
+                        Set<Throwable> visited, int depth) {
+        if (!visited.add(e)) {
+            out.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(e).append("]\n");
+            return;
+        }
+        out.append(prefix).append(caption).append(e).append('\n');
+
+        StackTraceElement[] frames = e.getStackTrace();
+        int common = 0;
+        if (enclosing != null) {
+            int m = frames.length - 1;
+            int n = enclosing.length - 1;
+            while (m >= 0 && n >= 0 && frames[m].equals(enclosing[n])) {
+                m--;
+                n--;
+            }
+            common = frames.length - 1 - m;
+        }
+
+        int trimmed = 0;
+        for (int i = 0; i < frames.length - common; i++) {
+            if (isTrimmed(frames[i].getClassName())) {
+                trimmed++;
+                continue;
+            }
+            if (trimmed > 0) {
+                out.append(prefix).append("\t... ").append(trimmed).append(" frames\n");
+                trimmed = 0;
+            }
+            out.append(prefix).append("\tat ").append(frames[i]).append('\n');
+        }
+        if (trimmed > 0) {
+            out.append(prefix).append("\t... ").append(trimmed).append(" frames\n");
+        }
+        if (common > 0) {
+            out.append(prefix).append("\t... ").append(common).append(" more\n");
+        }
+
+        for (Throwable suppressed : e.getSuppressed()) {
+            append(out, suppressed, frames, "Suppressed: ", prefix + "\t", visited, depth);
+        }
+        Throwable cause = e.getCause();
+        if (cause != null) {
+            if (depth >= properties.getMaxCauses()) {
+                out.append(prefix).append("Caused by: ... (max-causes=").append(properties.getMaxCauses()).append(")\n");
+                return;
+            }
+            append(out, cause, frames, "Caused by: ", prefix, visited, depth + 1);
+        }
+    }
+
+    private boolean isTrimmed(String className) {
+        for (String trimPackage : trimPackages) {
+            if (className.startsWith(trimPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# TYPE stack_traces_formatted_total counter\n");
+        out.append("stack_traces_formatted_total ").append(formatted.sum()).append('\n');
+        out.append("# TYPE stack_traces_reused_total counter\n");
+        out.append("stack_traces_reused_total ").append(reused.sum()).append('\n');
+        out.append("# TYPE stack_traces_dropped_total counter\n");
+        out.append("stack_traces_dropped_total ").append(dropped.sum()).append('\n');
+        out.append("# TYPE stack_traces_cached gauge\n");
+        out.append("stack_traces_cached ").append(entries.size()).append('\n');
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    @Getter
+    public static class Entry {
+        private final String id;
+        private final String type;
+        // 처음 발생했을 때의 메시지 (같은 stack 이라도 메시지는 다를 수 있다.)
+        private final String message;
+        private final Instant firstSeen = Instant.now();
+        @Getter(AccessLevel.NONE)
+        private final LongAdder count = new LongAdder();
+        private volatile long lastSeen = System.currentTimeMillis();
+        // 목록에는 포함하지 않고 /internal/stack-traces/{id} 로만 조회
+        @Getter(AccessLevel.NONE)
+        private volatile String text;
+
+        Entry(String id, String type, String message) {
+            this.id = id;
+            this.type = type;
+            this.message = message;
+            count.increment();
+        }
+
+        void hit() {
+            count.increment();
+            lastSeen = System.currentTimeMillis();
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public boolean isFormatted() {
+            return text != null;
+        }
+    }
+}
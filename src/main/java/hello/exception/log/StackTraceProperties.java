@@ -0,0 +1,30 @@
+package hello.exception.log;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "log.stack-trace")
+public class StackTraceProperties {
+
+    // true 면 ErrorReporter 가 stack trace 를 요청 스레드에서 출력하지 않고 StackTraceFormatter 에 넘긴다.
+    private boolean enabled = false;
+
+    // 연속된 frame 을 "... N frames" 한 줄로 줄일 패키지 (클래스 이름 prefix)
+    private List<String> trimPackages = List.of(
+            "org.springframework.", "org.apache.catalina.", "org.apache.coyote.", "org.apache.tomcat.",
+            "javax.servlet.", "jdk.internal.reflect.", "java.lang.reflect.", "sun.reflect.");
+
+    // 보관할 stack trace 최대 개수 (넘으면 오래된 것부터 제거)
+    private int maxEntries = 512;
+
+    // 포맷 대기 작업 최대 개수 (넘으면 포맷을 건너뛰고 다음 발생 때 다시 시도)
+    private int queueCapacity = 256;
+
+    // 출력할 cause 최대 깊이
+    private int maxCauses = 10;
+}
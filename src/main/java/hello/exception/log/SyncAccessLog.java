@@ -0,0 +1,16 @@
+package hello.exception.log;
+
+import org.slf4j.Logger;
+
+/**
+ * 요청 스레드에서 바로 로그를 남긴다. (기존 방식)
+ */
+public class SyncAccessLog implements AccessLog {
+
+    @Override
+    public void info(Logger logger, String format, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format, arg0, arg1, arg2, arg3, arg4, arg5);
+        }
+    }
+}
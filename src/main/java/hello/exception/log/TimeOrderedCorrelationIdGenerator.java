@@ -0,0 +1,44 @@
+package hello.exception.log;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 시간 순서로 정렬되는 요청 ID : {노드}-{epoch millis}-{스레드 ID}-{순번} (모두 36진수)
+ * UUID.randomUUID() 와 달리 공유 SecureRandom 을 사용하지 않는다.
+ * 순번은 스레드 ID 로 나눈 카운터(stripe)에서 증가시키므로 경합이 거의 없다.
+ * 스레드별 ThreadLocal 카운터는 가상 스레드(요청마다 새 스레드)에서 요청마다 새로 생성되므로 사용하지 않는다.
+ * 같은 stripe 를 쓰는 스레드끼리도 순번이 다르고, 스레드 ID 가 포함되므로 ID 는 중복되지 않는다.
+ */
+@Component
+public class TimeOrderedCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    private static final int STRIPES = 64;
+    // 카운터 사이를 128 byte 띄워서 false sharing 방지
+    private static final int PADDING = 16;
+
+    private final String node;
+
+    private final AtomicLongArray sequences = new AtomicLongArray(STRIPES * PADDING);
+
+    public TimeOrderedCorrelationIdGenerator(@Value("${log.correlation.node:}") String node) {
+        // 노드 이름을 지정하지 않으면 기동 시점에 한번만 랜덤으로 만든다.
+        this.node = StringUtils.hasText(node) ? node : Integer.toString(new SecureRandom().nextInt(36 * 36 * 36 * 36), 36);
+    }
+
+    @Override
+    public String generate() {
+        long threadId = Thread.currentThread().getId();
+        long seq = sequences.getAndIncrement((int) (threadId & (STRIPES - 1)) * PADDING);
+        return new StringBuilder(32)
+                .append(node).append('-')
+                .append(Long.toString(System.currentTimeMillis(), 36)).append('-')
+                .append(Long.toString(threadId, 36)).append('-')
+                .append(Long.toString(seq, 36))
+                .toString();
+    }
+}
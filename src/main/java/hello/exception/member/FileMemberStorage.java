@@ -0,0 +1,65 @@
+package hello.exception.member;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일 저장소 : 회원 한 명당 파일 하나 ({directory}/{id}, 내용은 이름)
+ * 조회할 때마다 파일을 읽으므로 실제 저장소처럼 느리다. (MemberRepository 의 캐시 효과 확인, 테스트용)
+ */
+@Slf4j
+public class FileMemberStorage implements MemberStorage {
+
+    // 파일 이름으로 사용하므로 경로 문자(/, ..)가 들어간 id 는 조회하지 않는다.
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Path directory;
+
+    public FileMemberStorage(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot create member directory " + directory, e);
+        }
+    }
+
+    @Override
+    public Optional<Member> findById(String id) {
+        if (!VALID_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+        try {
+            String name = Files.readString(directory.resolve(id), StandardCharsets.UTF_8).trim();
+            return Optional.of(new Member(id, name));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read member " + id, e);
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        if (!VALID_ID.matcher(member.getId()).matches()) {
+            throw new IllegalArgumentException("잘못된 회원 id " + member.getId());
+        }
+        try {
+            // 임시 파일에 쓰고 교체해서 읽는 쪽이 쓰다 만 파일을 보지 않도록 한다.
+            Path temp = Files.createTempFile(directory, member.getId(), ".tmp");
+            Files.writeString(temp, member.getName(), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(member.getId()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot save member " + member.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package hello.exception.member;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 회원 id -> 회원 인덱스 (ConcurrentHashMap : 조회는 락 없이, 저장은 버킷 단위로만 동기화)
+ */
+public class InMemoryMemberStorage implements MemberStorage {
+
+    private final ConcurrentMap<String, Member> index = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Member> findById(String id) {
+        return Optional.ofNullable(index.get(id));
+    }
+
+    @Override
+    public void save(Member member) {
+        index.put(member.getId(), member);
+    }
+}
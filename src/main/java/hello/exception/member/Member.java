@@ -0,0 +1,16 @@
+package hello.exception.member;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 회원 (불변 : 캐시, 인덱스에서 여러 스레드가 공유)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class Member {
+    private final String id;
+    private final String name;
+}
@@ -0,0 +1,142 @@
+package hello.exception.member;
+
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResult;
+import hello.exception.metrics.ErrorMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 회원을 한번에 조회한다.
+ * 실패한 id 도 예외를 던지지 않고 ErrorMapping 의 code, 요청 locale 의 메시지로 결과에 담는다. (stack trace 생성, 예외 처리 비용 없음)
+ * id 를 chunk 로 나눠서 제한된 스레드 풀에서 병렬로 조회한다. 풀이 가득 차면 요청 스레드가 직접 조회한다.
+ */
+public class MemberBatchService implements DisposableBean {
+
+    private static final String URI = "/api/members/batch";
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final MemberRepository memberRepository;
+    private final ErrorMetrics errorMetrics;
+    private final ErrorMessages errorMessages;
+    private final int maxSize;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+
+    public MemberBatchService(MemberRepository memberRepository, ErrorMetrics errorMetrics, ErrorMessages errorMessages,
+                              MemberProperties properties) {
+        this.memberRepository = memberRepository;
+        this.errorMetrics = errorMetrics;
+        this.errorMessages = errorMessages;
+        this.maxSize = properties.getBatchMaxSize();
+        this.chunkSize = Math.max(1, properties.getBatchChunkSize());
+
+        int threads = Math.max(1, properties.getBatchParallelism());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "member-batch-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @return 요청한 id 순서대로 결과
+     * @throws IllegalArgumentException id 가 없거나 maxSize 를 넘거나, null / 빈 id 가 있는 경우 (요청 자체가 잘못된 경우만 예외)
+     */
+    public List<Result> findAll(List<String> ids, Locale locale) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("조회할 회원 id 가 없습니다");
+        }
+        if (ids.size() > maxSize) {
+            throw new IllegalArgumentException("한번에 조회할 수 있는 회원은 최대 " + maxSize + "명 입니다");
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("회원 id 가 비어 있습니다. index=" + i);
+            }
+        }
+
+        Result[] results = new Result[ids.size()];
+        // chunk 하나면 병렬 처리 비용이 더 크므로 현재 스레드에서 조회
+        if (ids.size() <= chunkSize) {
+            lookup(ids, results, 0, ids.size(), locale);
+            return List.of(results);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = chunkSize; from < ids.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, ids.size());
+            futures.add(CompletableFuture.runAsync(() -> lookup(ids, results, start, end, locale), executor));
+        }
+        // 첫 chunk 는 요청 스레드가 처리
+        lookup(ids, results, 0, chunkSize, locale);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return List.of(results);
+    }
+
+    private void lookup(List<String> ids, Result[] results, int from, int to, Locale locale) {
+        for (int i = from; i < to; i++) {
+            results[i] = lookup(ids.get(i), locale);
+        }
+    }
+
+    private Result lookup(String id, Locale locale) {
+        // GET /api/members/{id} 에서 예외를 던지는 id 와 같은 결과
+        SimulatedFailure simulated = SimulatedFailure.of(id);
+        ErrorMapping.Rule rule;
+        String failureMessage;
+        if (simulated != null) {
+            rule = simulated.getRule();
+            failureMessage = simulated.getMessage();
+        } else {
+            Member member = memberRepository.find(id).orElse(null);
+            if (member != null) {
+                return new Result(id, member, null, 200);
+            }
+            rule = ErrorMapping.MEMBER_NOT_FOUND;
+            failureMessage = "회원을 찾을 수 없습니다. id=" + id;
+        }
+        errorMetrics.record(rule.getType().getName(), "MemberBatchService", rule.getStatus(), URI);
+        // 예외를 만들지 않으므로 Rule.argumentsOf 대신 같은 모양의 인자를 직접 전달 (회원 없음 : id, 그 외 : 메시지)
+        Object[] args = rule.isFixed() ? NO_ARGUMENTS
+                : new Object[]{rule == ErrorMapping.MEMBER_NOT_FOUND ? id : failureMessage};
+        String defaultMessage = rule.isFixed() ? rule.getFixedMessage() : failureMessage;
+        String message = errorMessages.getMessage(rule.getMessageKey(), args, defaultMessage, locale);
+        return new Result(id, null, new ErrorResult(rule.getCode(), message), rule.getStatus());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * id 하나의 결과 : member 또는 error 중 하나
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        private final String id;
+        private final Member member;
+        private final ErrorResult error;
+        private final int status;
+    }
+}
@@ -0,0 +1,19 @@
+package hello.exception.member;
+
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.metrics.ErrorMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 회원 배치 조회 (저장소, 캐시는 MemberStorageConfig)
+ */
+@Configuration
+public class MemberConfig {
+
+    @Bean
+    public MemberBatchService memberBatchService(MemberRepository memberRepository, ErrorMetrics errorMetrics,
+                                                 ErrorMessages errorMessages, MemberProperties properties) {
+        return new MemberBatchService(memberRepository, errorMetrics, errorMessages, properties);
+    }
+}
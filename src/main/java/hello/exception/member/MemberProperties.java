@@ -0,0 +1,33 @@
+package hello.exception.member;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "member")
+public class MemberProperties {
+
+    public enum StorageType {MEMORY, FILE}
+
+    // MEMORY : 메모리 인덱스, FILE : 로컬 파일 (회원당 파일 하나)
+    private StorageType storage = StorageType.MEMORY;
+
+    // FILE 저장소 디렉토리
+    private Path directory = Path.of("data", "members");
+
+    // 기동할 때 저장소에 넣을 회원 목록 (id,name), 없으면 생략
+    private Resource seed;
+
+    // 캐시 최대 회원 수
+    private int cacheCapacity = 10_000;
+
+    // 배치 조회 : 한 요청의 최대 id 수, 병렬 조회 스레드 수, 스레드 하나가 맡는 id 수
+    private int batchMaxSize = 1000;
+    private int batchParallelism = Runtime.getRuntime().availableProcessors();
+    private int batchChunkSize = 64;
+}
@@ -0,0 +1,56 @@
+package hello.exception.member;
+
+import hello.exception.cache.ClockCache;
+import hello.exception.exception.MemberNotFoundException;
+import hello.exception.metrics.MetricsSource;
+
+import java.util.Optional;
+
+/**
+ * 회원 조회 : 크기 제한 캐시 -> 저장소
+ * 없는 회원은 캐시하지 않는다. (새로 저장된 회원이 바로 조회되도록)
+ */
+public class MemberRepository implements MetricsSource {
+
+    private final MemberStorage storage;
+    private final ClockCache<String, Member> cache;
+
+    public MemberRepository(MemberStorage storage, int cacheCapacity) {
+        this.storage = storage;
+        this.cache = new ClockCache<>(cacheCapacity);
+    }
+
+    /**
+     * @throws MemberNotFoundException 회원이 없는 경우
+     */
+    public Member findById(String id) {
+        return find(id).orElseThrow(() -> new MemberNotFoundException(id));
+    }
+
+    public Optional<Member> find(String id) {
+        Member cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Member> member = storage.findById(id);
+        member.ifPresent(m -> cache.put(id, m));
+        return member;
+    }
+
+    public void save(Member member) {
+        storage.save(member);
+        cache.put(member.getId(), member);
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# TYPE member_cache_hits_total counter\n");
+        out.append("member_cache_hits_total ").append(cache.hits()).append('\n');
+        out.append("# TYPE member_cache_misses_total counter\n");
+        out.append("member_cache_misses_total ").append(cache.misses()).append('\n');
+        out.append("# TYPE member_cache_evictions_total counter\n");
+        out.append("member_cache_evictions_total ").append(cache.evictions()).append('\n');
+        out.append("# TYPE member_cache_size gauge\n");
+        out.append("member_cache_size ").append(cache.size()).append('\n');
+    }
+}
@@ -0,0 +1,13 @@
+package hello.exception.member;
+
+import java.util.Optional;
+
+/**
+ * 회원 저장소 (member.storage 설정으로 선택)
+ */
+public interface MemberStorage {
+
+    Optional<Member> findById(String id);
+
+    void save(Member member);
+}
@@ -0,0 +1,61 @@
+package hello.exception.member;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 회원 저장소, 조회 캐시 (member.*)
+ * 서블릿/리액티브 API 에 의존하지 않으므로 리액티브 버전에서도 @Import 해서 같은 회원을 조회한다.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(MemberProperties.class)
+public class MemberStorageConfig {
+
+    @Bean
+    public MemberStorage memberStorage(MemberProperties properties) throws IOException {
+        MemberStorage storage = properties.getStorage() == MemberProperties.StorageType.FILE
+                ? new FileMemberStorage(properties.getDirectory())
+                : new InMemoryMemberStorage();
+        seed(storage, properties.getSeed());
+        return storage;
+    }
+
+    @Bean
+    public MemberRepository memberRepository(MemberStorage memberStorage, MemberProperties properties) {
+        return new MemberRepository(memberStorage, properties.getCacheCapacity());
+    }
+
+    // id,name 형식 (# 으로 시작하는 줄은 주석)
+    private void seed(MemberStorage storage, Resource seed) throws IOException {
+        if (seed == null || !seed.exists()) {
+            return;
+        }
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(seed.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                if (comma <= 0) {
+                    log.warn("invalid member seed line [{}]", line);
+                    continue;
+                }
+                storage.save(new Member(line.substring(0, comma).trim(), line.substring(comma + 1).trim()));
+                count++;
+            }
+        }
+        log.info("member seed {} loaded ({} members)", seed.getDescription(), count);
+    }
+}
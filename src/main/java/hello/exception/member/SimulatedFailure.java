@@ -0,0 +1,72 @@
+package hello.exception.member;
+
+import hello.exception.UserException;
+import hello.exception.exhandler.ErrorMapping;
+
+/**
+ * 회원 조회 API 에서 예외를 재현하는 id (ex, bad, user-ex)
+ * 단건 조회 컨트롤러(동기, 비동기, 리액티브)는 예외를 던지고, 배치 조회는 예외 없이 같은 Rule, 메시지로 결과를 만든다.
+ */
+public enum SimulatedFailure {
+
+    // localhost:8080/api/members/ex : RuntimeException -> 500
+    EX("ex", ErrorMapping.DEFAULT, "잘못된 사용자"),
+    // localhost:8080/api/members/bad : IllegalArgumentException -> 400
+    BAD("bad", ErrorMapping.ILLEGAL_ARGUMENT, "잘못 입력 값"),
+    // localhost:8080/api/members/user-ex : UserException -> 400
+    USER_EX("user-ex", ErrorMapping.USER, "사용자 에러");
+
+    private final String id;
+    private final ErrorMapping.Rule rule;
+    private final String message;
+
+    SimulatedFailure(String id, ErrorMapping.Rule rule, String message) {
+        this.id = id;
+        this.rule = rule;
+        this.message = message;
+    }
+
+    /**
+     * @return id 에 해당하는 실패, 없으면 null (id 가 null 이어도 null)
+     */
+    public static SimulatedFailure of(String id) {
+        if (id == null) {
+            return null;
+        }
+        for (SimulatedFailure failure : values()) {
+            if (failure.id.equals(id)) {
+                return failure;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * id 가 실패를 재현하는 값이면 해당 예외를 던진다.
+     */
+    public static void throwIfSimulated(String id) {
+        SimulatedFailure failure = of(id);
+        if (failure != null) {
+            throw failure.toException();
+        }
+    }
+
+    public RuntimeException toException() {
+        switch (this) {
+            case BAD:
+                return new IllegalArgumentException(message);
+            case USER_EX:
+                return UserException.of(message);
+            default:
+                return new RuntimeException(message);
+        }
+    }
+
+    public ErrorMapping.Rule getRule() {
+        return rule;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
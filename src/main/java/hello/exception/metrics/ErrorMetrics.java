@@ -0,0 +1,90 @@
+package hello.exception.metrics;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 에러 처리 경로별 카운터 (예외 클래스, 처리한 컴포넌트, HTTP 상태 코드, URI 템플릿)
+ * 에러가 발생했을 때만 기록하므로 정상 요청에는 비용이 없다.
+ * ConcurrentHashMap 조회 + LongAdder 증가만 하므로 에러 경로에도 락이 없다. (키가 처음 생길 때만 해당 버킷에 한번 동기화)
+ */
+@Component
+public class ErrorMetrics implements MetricsSource {
+
+    public static final String UNMAPPED = "UNMAPPED";
+
+    private final Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void record(HttpServletRequest request, Class<?> exceptionType, String component, int status) {
+        record(exceptionType == null ? "none" : exceptionType.getName(), component, status, uriTemplate(request));
+    }
+
+    public void record(String exceptionType, String component, int status, String uriTemplate) {
+        Key key = new Key(exceptionType, component, status, uriTemplate);
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    // 기동 시 warm-up 요청으로 쌓인 카운트 제거
+    public void reset() {
+        counters.clear();
+    }
+
+    public List<Count> snapshot() {
+        List<Count> result = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> result.add(new Count(key.exception, key.component, key.status, key.uri, counter.sum())));
+        return result;
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# TYPE error_responses_total counter\n");
+        counters.forEach((key, counter) -> {
+            out.append("error_responses_total{exception=\"");
+            MetricsSource.writeLabelValue(out, key.exception);
+            out.append("\",component=\"");
+            MetricsSource.writeLabelValue(out, key.component);
+            out.append("\",status=\"").append(key.status).append("\",uri=\"");
+            MetricsSource.writeLabelValue(out, key.uri);
+            out.append("\"} ").append(counter.sum()).append('\n');
+        });
+    }
+
+    // 실제 URI 대신 매핑된 패턴(/api/members/{id})을 사용해서 키 개수가 늘어나지 않도록 한다.
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMAPPED : pattern.toString();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String exception;
+        private final String component;
+        private final int status;
+        private final String uri;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Count {
+        private final String exception;
+        private final String component;
+        private final int status;
+        private final String uri;
+        private final long count;
+    }
+}
@@ -0,0 +1,48 @@
+package hello.exception.metrics;
+
+import hello.exception.events.ErrorEvents;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * HandlerExceptionResolver 가 예외를 해결했을 때 ErrorMetrics, ErrorEvents 에 기록한다.
+ * @ExceptionHandler(ExControllerAdvice), @ResponseStatus, ResponseStatusException, 커스텀 resolver 를 모두 같은 방식으로 집계
+ */
+public class MeteredHandlerExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    private final HandlerExceptionResolver delegate;
+    private final String component;
+    private final ErrorMetrics errorMetrics;
+    private final ErrorEvents errorEvents;
+
+    public MeteredHandlerExceptionResolver(HandlerExceptionResolver delegate, ErrorMetrics errorMetrics, ErrorEvents errorEvents) {
+        this.delegate = delegate;
+        this.component = delegate.getClass().getSimpleName();
+        this.errorMetrics = errorMetrics;
+        this.errorEvents = errorEvents;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ModelAndView mav = delegate.resolveException(request, response, handler, ex);
+        if (mav != null) {
+            int status = mav.getStatus() != null ? mav.getStatus().value() : response.getStatus();
+            errorMetrics.record(request, ex.getClass(), component, status);
+            errorEvents.record(request, ex.getClass().getName(), status, component);
+        }
+        return mav;
+    }
+
+    public HandlerExceptionResolver getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate instanceof Ordered ? ((Ordered) delegate).getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,32 @@
+package hello.exception.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 지표 조회 (읽기 전용)
+ */
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ErrorMetrics errorMetrics;
+    private final ObjectProvider<MetricsSource> metricsSources;
+
+    @GetMapping("/internal/metrics/errors")
+    public List<ErrorMetrics.Count> errors() {
+        return errorMetrics.snapshot();
+    }
+
+    // Prometheus 등에서 수집할 수 있는 text 형식
+    @GetMapping(value = "/internal/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String metrics() {
+        StringBuilder out = new StringBuilder(1024);
+        metricsSources.orderedStream().forEach(source -> source.writeMetrics(out));
+        return out.toString();
+    }
+}
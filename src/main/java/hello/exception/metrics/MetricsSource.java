@@ -0,0 +1,25 @@
+package hello.exception.metrics;
+
+/**
+ * /internal/metrics 에 노출할 지표를 가진 컴포넌트
+ */
+public interface MetricsSource {
+
+    /**
+     * Prometheus text 형식으로 지표를 추가한다.
+     */
+    void writeMetrics(StringBuilder out);
+
+    static void writeLabelValue(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+}
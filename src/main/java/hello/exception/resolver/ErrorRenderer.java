@@ -0,0 +1,17 @@
+package hello.exception.resolver;
+
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 예외를 실제 응답으로 만드는 역할
+ * 반환 값의 의미는 HandlerExceptionResolver 와 같다. (빈 ModelAndView : 응답 완료, ModelAndView 지정 : 뷰 렌더링)
+ */
+@FunctionalInterface
+public interface ErrorRenderer {
+
+    ModelAndView render(HttpServletRequest request, HttpServletResponse response, Exception ex, ErrorResolution resolution) throws IOException;
+}
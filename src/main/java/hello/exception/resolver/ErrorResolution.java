@@ -0,0 +1,32 @@
+package hello.exception.resolver;
+
+import hello.exception.exhandler.ErrorMapping;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 예외 타입 별 처리 방법 (HTTP 상태 코드, 에러 코드, 렌더러)
+ * 상태 코드, 에러 코드는 ErrorMapping 규칙에서 가져온다. (ExControllerAdvice 등과 같은 값을 한 곳에서 관리)
+ */
+@Getter
+@ToString
+public class ErrorResolution {
+
+    // 처리 대상이 아닌 예외 (ClassValue 는 null 을 저장할 수 없으므로 대신 사용)
+    static final ErrorResolution NONE = new ErrorResolution(0, null, null);
+
+    private final int status;
+    private final String code;
+    @ToString.Exclude
+    private final ErrorRenderer renderer;
+
+    public ErrorResolution(ErrorMapping.Rule rule, ErrorRenderer renderer) {
+        this(rule.getStatus(), rule.getCode(), renderer);
+    }
+
+    private ErrorResolution(int status, String code, ErrorRenderer renderer) {
+        this.status = status;
+        this.code = code;
+        this.renderer = renderer;
+    }
+}
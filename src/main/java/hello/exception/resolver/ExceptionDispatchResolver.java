@@ -0,0 +1,80 @@
+package hello.exception.resolver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 여러 ExceptionResolver 를 하나로 묶은 resolver
+ * 시작 시점에 예외 타입 -> ErrorResolution 테이블을 만들어두고, 요청마다 instanceof 체인을 돌지 않는다.
+ */
+@Slf4j
+public class ExceptionDispatchResolver implements HandlerExceptionResolver {
+
+    private final Map<Class<?>, ErrorResolution> table;
+
+    // 예외 타입마다 부모 클래스를 한번만 거슬러 올라가서 찾고, 이후에는 캐시된 결과를 사용한다.
+    // ClassValue 는 읽기에 락이 없고, 클래스 언로드 시 함께 정리된다.
+    private final ClassValue<ErrorResolution> resolutions = new ClassValue<>() {
+        @Override
+        protected ErrorResolution computeValue(Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                ErrorResolution resolution = table.get(current);
+                if (resolution != null) {
+                    return resolution;
+                }
+            }
+            return ErrorResolution.NONE;
+        }
+    };
+
+    private ExceptionDispatchResolver(Map<Class<?>, ErrorResolution> table) {
+        this.table = Map.copyOf(table);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ErrorResolution resolutionFor(Class<?> exceptionType) {
+        ErrorResolution resolution = resolutions.get(exceptionType);
+        return resolution == ErrorResolution.NONE ? null : resolution;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ErrorResolution resolution = resolutions.get(ex.getClass());
+        if (resolution == ErrorResolution.NONE) {
+            // null : 다음 ExceptionResolver 로 넘긴다.
+            return null;
+        }
+
+        try {
+            return resolution.getRenderer().render(request, response, ex, resolution);
+        } catch (IOException e) {
+            log.info("resolver ex", e);
+            return null;
+        }
+    }
+
+    public static class Builder {
+
+        private final Map<Class<?>, ErrorResolution> table = new LinkedHashMap<>();
+
+        // 상태 코드, 에러 코드는 각 resolver 의 ErrorResolution 에서 가져온다.
+        public Builder map(Class<? extends Exception> exceptionType, ErrorResolution resolution) {
+            table.put(exceptionType, resolution);
+            return this;
+        }
+
+        public ExceptionDispatchResolver build() {
+            return new ExceptionDispatchResolver(table);
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package hello.exception.resolver;
 
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
 @Slf4j
-public class MyHandlerExceptionResolver implements HandlerExceptionResolver {
+@RequiredArgsConstructor
+public class MyHandlerExceptionResolver implements HandlerExceptionResolver, ErrorRenderer {
+
+    // 에러 페이지에 전달할 메시지를 요청 locale 로 찾는다. (messages.properties 의 error.BAD)
+    private final ErrorMessages errorMessages;
+
+    // ExceptionDispatchResolver 에도 이 처리 방법을 그대로 등록한다.
+    @Getter
+    private final ErrorResolution resolution = new ErrorResolution(ErrorMapping.ILLEGAL_ARGUMENT, this);
 
     // handler : 핸들러(컨트롤러) 정보, Exception ex : 핸들러(컨트롤러)에서 발생한 예외
     @Override
@@ -19,11 +32,7 @@ public class MyHandlerExceptionResolver implements HandlerExceptionResolver {
         try {
             // IllegalArgumentException 이 발생하면
             if (ex instanceof IllegalArgumentException) {
-                log.info("IllegalArgumentException resolver to 400");
-                // response.sendError(400) 을 호출해서 Http status code 를 400으로 지정
-                response.sendError(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage());
-                // 빈 ModelAndView 반환
-                return new ModelAndView();
+                return render(request, response, ex, resolution);
             }
         } catch (IOException e) {
             log.info("resolver ex", e);
@@ -35,6 +44,16 @@ public class MyHandlerExceptionResolver implements HandlerExceptionResolver {
         // ModelAndView 지정 : ModelAndView 에 View, Model 등의 정보를 지정해서 반환하면 렌더링 한다.
         // null : null 은 다음 ExceptionResolver 를 찾아서 실행한다. 만약 ExceptionResolver 가 없으면 예외 처리가 안되고, 기존에 발생한 예외를 서블릿 밖으로 던진다.
     }
+
+    // ExceptionDispatchResolver 에서도 instanceof 검사 없이 바로 호출한다.
+    @Override
+    public ModelAndView render(HttpServletRequest request, HttpServletResponse response, Exception ex, ErrorResolution resolution) throws IOException {
+        log.info("IllegalArgumentException resolver to {}", resolution.getStatus());
+        // response.sendError(400) 을 호출해서 Http status code 를 400으로 지정
+        response.sendError(resolution.getStatus(), errorMessages.getMessage(ErrorMapping.ILLEGAL_ARGUMENT, ex, RequestContextUtils.getLocale(request)));
+        // 빈 ModelAndView 반환
+        return new ModelAndView();
+    }
 }
 /* ExceptionResolver 활용 */
 // ・예외 상태 코드 변환
@@ -1,49 +1,43 @@
 package hello.exception.resolver;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.exception.UserException;
+import hello.exception.exhandler.ErrorBodyCache;
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 @Slf4j
-public class UserHandlerExceptionResolver implements HandlerExceptionResolver {
+@RequiredArgsConstructor
+public class UserHandlerExceptionResolver implements HandlerExceptionResolver, ErrorRenderer {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // {"ex": 예외 클래스 이름, "message": 메시지} 형태로 직접 직렬화 (WebConfig 의 userErrorBodyCache 빈)
+    private final ErrorBodyCache errorBodyCache;
+
+    // JSON / HTML 선택 (q 값, 와일드카드 처리, 헤더별 결과 캐시)
+    private final ErrorResponseNegotiator errorResponseNegotiator;
+
+    // 요청 locale 의 메시지 (messages.properties 의 error.USER-EX)
+    private final ErrorMessages errorMessages;
+
+    // ExceptionDispatchResolver 에도 이 처리 방법을 그대로 등록한다.
+    @Getter
+    private final ErrorResolution resolution = new ErrorResolution(ErrorMapping.USER, this);
 
     @Override
     public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
         try {
             if (ex instanceof UserException) {
-                log.info("UserException resolver to 400");
-                String acceptHeader = request.getHeader("accept");
-                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-
-                // HTTP 요청 헤더의 ACCEPT 값이 application/json 인경우
-                if ("application/json".equals(acceptHeader)) {
-                    Map<String, Object> errorResult = new HashMap<>();
-                    errorResult.put("ex", ex.getClass());
-                    errorResult.put("message", ex.getMessage());
-                    String result = null;
-                    // json 으로 생성하여
-                    result = objectMapper.writeValueAsString(errorResult);
-
-                    // 에러 정보 리턴
-                    response.setContentType("application/json");
-                    response.setCharacterEncoding("utf-8");
-                    response.getWriter().write(result);
-                    return new ModelAndView();
-                } else {
-                    // TEXT/HTML 인 경우, error/500 에 있는 HTML 에러페이지 리턴
-                    return new ModelAndView("error/500");
-                }
+                return render(request, response, ex, resolution);
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -51,6 +45,29 @@ public class UserHandlerExceptionResolver implements HandlerExceptionResolver {
 
         return null;
     }
+
+    @Override
+    public ModelAndView render(HttpServletRequest request, HttpServletResponse response, Exception ex, ErrorResolution resolution) throws IOException {
+        log.info("UserException resolver to {}", resolution.getStatus());
+        response.setStatus(resolution.getStatus());
+
+        // HTTP 요청 헤더의 ACCEPT 값이 text/html 보다 application/json 을 선호하는 경우
+        // (application/json, text/plain, */* 처럼 여러 타입이나 q 값을 보내는 클라이언트 포함)
+        if (errorResponseNegotiator.prefersJson(request)) {
+            // json 으로 생성하여 에러 정보 리턴 (HashMap, ObjectMapper 없이 스트리밍으로 직렬화)
+            String message = errorMessages.getMessage(ErrorMapping.USER, ex, RequestContextUtils.getLocale(request));
+            try {
+                errorBodyCache.writeDynamic(response, resolution.getStatus(), ex.getClass().getName(), message);
+            } catch (IOException e) {
+                // 응답을 쓰지 못하면 예외로 올린다. (ExceptionDispatchResolver 를 거쳐도 로그만 남기고 다음 resolver 로 넘기지 않도록)
+                throw new RuntimeException(e);
+            }
+            return new ModelAndView();
+        } else {
+            // TEXT/HTML 인 경우, error/500 에 있는 HTML 에러페이지 리턴
+            return new ModelAndView("error/500");
+        }
+    }
 }
 
 // 정리
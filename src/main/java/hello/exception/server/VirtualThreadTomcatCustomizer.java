@@ -0,0 +1,49 @@
+package hello.exception.server;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 톰캣 요청 처리를 가상 스레드에서 실행한다. (exception.virtual-threads.enabled=true)
+ * 필터, DispatcherServlet, 인터셉터, 컨트롤러와 WAS 의 ERROR 디스패치(/error-page/**, /error) 모두 요청을 받은 가상 스레드에서 실행된다.
+ * 요청마다 새 스레드이므로 ThreadLocal 은 요청 범위로만 사용해야 한다. (MDC 는 LogFilter, LogInterceptor 에서 요청마다 정리)
+ * accept, poller 스레드는 그대로 플랫폼 스레드를 사용한다.
+ * Java 21 미만 JVM 에서는 경고만 남기고 기존 스레드 풀을 사용한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "exception.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadTomcatCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory>, DisposableBean {
+
+    private volatile ExecutorService executor;
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        if (!VirtualThreads.isSupported()) {
+            log.warn("virtual threads require Java 21+ (current {}), using platform thread pool", Runtime.version());
+            return;
+        }
+        factory.addProtocolHandlerCustomizers((TomcatProtocolHandlerCustomizer<ProtocolHandler>) protocolHandler -> {
+            executor = VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-");
+            protocolHandler.setExecutor(executor);
+            log.info("tomcat request handling on virtual threads");
+        });
+    }
+
+    @Override
+    public void destroy() {
+        // 톰캣은 외부에서 지정한 executor 를 종료하지 않는다.
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package hello.exception.server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드 (Java 21+) 를 리플렉션으로 사용한다.
+ * 빌드는 Java 11 (Lombok, 스프링 부트 2.7 호환) 을 유지하고, 실행하는 JVM 이 21 이상일 때만 사용할 수 있다.
+ * 리플렉션은 executor 를 만들 때 한번만 사용하므로 요청 처리 비용에는 영향이 없다.
+ */
+public abstract class VirtualThreads {
+
+    private static final boolean SUPPORTED = detect();
+
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 만드는 executor (스레드 이름 : prefix + 순번)
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!SUPPORTED) {
+            throw new IllegalStateException("virtual threads require Java 21+, current=" + Runtime.version());
+        }
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = Class.forName("java.lang.Thread$Builder$OfVirtual")
+                    .getMethod("name", String.class, long.class)
+                    .invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory")
+                    .invoke(builder);
+            // Executors.newThreadPerTaskExecutor(factory)
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create virtual thread executor", e);
+        }
+    }
+
+    private static boolean detect() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
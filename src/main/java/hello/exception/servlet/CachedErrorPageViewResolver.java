@@ -0,0 +1,181 @@
+package hello.exception.servlet;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.ISpringTemplateEngine;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 정적 에러 페이지 캐시
+ * 모델 값을 사용하지 않는 에러 템플릿(error-page/404.html 등)은 처음 한번만 Thymeleaf 로 렌더링하고
+ * 이후에는 만들어둔 byte[] 를 그대로 응답한다. (404 가 몰려도 템플릿 처리 비용 없음)
+ * th:, ${...} 등 Thymeleaf 표현식이 있는 템플릿(error-page/error/500.html)은 null 을 반환해서 Thymeleaf 가 그대로 처리한다.
+ * spring.thymeleaf.cache=false (개발 환경) 이면 템플릿 파일이 수정될 때마다 다시 렌더링한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "exception.error-page.cache.enabled", havingValue = "true")
+@EnableConfigurationProperties(ErrorPageCacheProperties.class)
+public class CachedErrorPageViewResolver implements ViewResolver, Ordered {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+    // xmlns:th 선언은 표현식이 아니므로 제외하고 검사
+    private static final Pattern THYMELEAF_NAMESPACE = Pattern.compile("xmlns:th=\"[^\"]*\"");
+    private static final String[] EXPRESSION_MARKERS = {"th:", "data-th-", "${", "*{", "#{", "@{", "~{", "[[", "[("};
+
+    private final ISpringTemplateEngine templateEngine;
+    private final ResourceLoader resourceLoader;
+    private final ThymeleafProperties thymeleafProperties;
+    private final ErrorPageCacheProperties properties;
+
+    private final Map<String, CachedErrorPage> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) throws Exception {
+        if (!isErrorView(viewName)) {
+            return null;
+        }
+
+        CachedErrorPage page = cache.get(viewName);
+        if (page == null || (!thymeleafProperties.isCache() && page.lastModified != lastModified(templateOf(viewName)))) {
+            page = load(viewName);
+            cache.put(viewName, page);
+        }
+        return page.isStatic() ? page : null;
+    }
+
+    @Override
+    public int getOrder() {
+        // ThymeleafViewResolver 보다 먼저 조회
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private boolean isErrorView(String viewName) {
+        for (String prefix : properties.getViewPrefixes()) {
+            if (viewName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CachedErrorPage load(String viewName) throws IOException {
+        Resource template = templateOf(viewName);
+        long lastModified = lastModified(template);
+        if (!template.exists()) {
+            return new CachedErrorPage(null, null, lastModified);
+        }
+
+        String source;
+        try (InputStream in = template.getInputStream()) {
+            source = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        }
+        if (!isStatic(source)) {
+            log.debug("error page [{}] uses model attributes, rendered by Thymeleaf", viewName);
+            return new CachedErrorPage(null, null, lastModified);
+        }
+
+        // 표현식이 없으므로 locale, model 과 관계없이 결과가 같다.
+        byte[] body = templateEngine.process(viewName, new Context(Locale.ROOT)).getBytes(StandardCharsets.UTF_8);
+        byte[] gzipBody = properties.isGzip() ? gzip(body) : null;
+        log.debug("error page [{}] cached ({} bytes)", viewName, body.length);
+        return new CachedErrorPage(body, gzipBody, lastModified);
+    }
+
+    private Resource templateOf(String viewName) {
+        return resourceLoader.getResource(thymeleafProperties.getPrefix() + viewName + thymeleafProperties.getSuffix());
+    }
+
+    private static long lastModified(Resource template) {
+        try {
+            return template.exists() ? template.lastModified() : 0L;
+        } catch (IOException e) {
+            // jar 안의 리소스 등 수정 시각을 알 수 없으면 변경 없음으로 본다.
+            return 0L;
+        }
+    }
+
+    private static boolean isStatic(String source) {
+        String body = THYMELEAF_NAMESPACE.matcher(source).replaceAll("");
+        for (String marker : EXPRESSION_MARKERS) {
+            if (body.contains(marker)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 미리 렌더링한 에러 페이지. body 가 null 이면 Thymeleaf 로 렌더링해야 하는 템플릿
+     */
+    private static class CachedErrorPage implements View {
+
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final long lastModified;
+
+        CachedErrorPage(byte[] body, byte[] gzipBody, long lastModified) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.lastModified = lastModified;
+        }
+
+        boolean isStatic() {
+            return body != null;
+        }
+
+        @Override
+        public String getContentType() {
+            return CONTENT_TYPE;
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            byte[] content = body;
+            if (gzipBody != null && acceptsGzip(request)) {
+                content = gzipBody;
+                response.setHeader("Content-Encoding", "gzip");
+                response.addHeader("Vary", "Accept-Encoding");
+            }
+            response.setContentType(CONTENT_TYPE);
+            response.setContentLength(content.length);
+            response.getOutputStream().write(content);
+        }
+
+        private static boolean acceptsGzip(HttpServletRequest request) {
+            String acceptEncoding = request.getHeader("Accept-Encoding");
+            return acceptEncoding != null && acceptEncoding.contains("gzip");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package hello.exception.servlet;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.error-page.cache")
+public class ErrorPageCacheProperties {
+
+    // 정적 에러 템플릿을 한번만 렌더링해서 재사용
+    private boolean enabled = false;
+
+    // gzip 으로 압축한 바디도 미리 만들어 Accept-Encoding: gzip 요청에 사용
+    private boolean gzip = true;
+
+    // 캐시 대상 뷰 이름 prefix
+    private List<String> viewPrefixes = new ArrayList<>(List.of("error-page/", "error/"));
+}
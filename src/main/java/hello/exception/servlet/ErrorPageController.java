@@ -1,15 +1,28 @@
 package hello.exception.servlet;
 
+import hello.exception.events.ErrorEvents;
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import hello.exception.log.AccessLog;
+import hello.exception.log.CorrelationId;
+import hello.exception.metrics.ErrorMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,6 +31,7 @@ import java.util.Map;
  */
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class ErrorPageController {
 
     // RequestDispatcher 상수로 정의되어 있음
@@ -34,16 +48,48 @@ public class ErrorPageController {
     // HTTP 상태 코드
     public static final String ERROR_STATUS_CODE = "javax.servlet.error.status_code";
 
+    private final AccessLog accessLog;
+    private final ErrorMetrics errorMetrics;
+    private final ErrorEvents errorEvents;
+    private final ErrorResponseNegotiator errorResponseNegotiator;
+    private final ErrorMessages errorMessages;
+    // @ResponseBody 로 ResponseEntity 를 반환할 때 사용되는 컨버터 (같은 ObjectMapper, 같은 응답 헤더)
+    private final MappingJackson2HttpMessageConverter jsonConverter;
+
     @RequestMapping("/error-page/404")
     public String errorPage404(HttpServletRequest request, HttpServletResponse response) {
-        log.info("errorPage 404");
+        accessLog.info(log, "errorPage 404 [{}]", CorrelationId.get(request));
+        recordMetrics(request, "/error-page/404");
         return "error-page/404";
     }
 
+    /**
+     * @return HTML 에러 화면, JSON 으로 응답한 경우 null (응답을 직접 썼다)
+     */
     @RequestMapping("/error-page/500")
-    public String errorPage500(HttpServletRequest request, HttpServletResponse response) {
-        log.info("errorPage 500");
-        return "error-page/500";
+    public ModelAndView errorPage500(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // produces 매핑 대신 ExControllerAdvice 등과 같은 기준으로 JSON / HTML 선택
+        if (errorResponseNegotiator.prefersJson(request)) {
+            // JSON 뷰(MappingJackson2JsonView) 는 캐시 금지 헤더 등을 추가하므로
+            // 이전에 errorPage500Api 를 직접 매핑했을 때와 같이 메시지 컨버터로 쓴다. (Content-Type: application/json 만)
+            ResponseEntity<Map<String, Object>> entity = errorPage500Api(request, response);
+            response.setStatus(entity.getStatusCodeValue());
+            jsonConverter.write(entity.getBody(), MediaType.APPLICATION_JSON, new ServletServerHttpResponse(response));
+            return null;
+        }
+        accessLog.info(log, "errorPage 500 [{}]", CorrelationId.get(request));
+        recordMetrics(request, "/error-page/500");
+        return new ModelAndView("error-page/500");
+    }
+
+    // 서블릿 ErrorPage 경로로 처리된 에러 집계 (원래 요청 URI 는 종류가 많으므로 에러 페이지 경로로 집계)
+    private void recordMetrics(HttpServletRequest request, String errorPage) {
+        Object exceptionType = request.getAttribute(ERROR_EXCEPTION_TYPE);
+        Object statusCode = request.getAttribute(ERROR_STATUS_CODE);
+        String exception = exceptionType instanceof Class ? ((Class<?>) exceptionType).getName() : "none";
+        int status = statusCode instanceof Integer ? (Integer) statusCode : 0;
+        errorMetrics.record(exception, "ErrorPage", status, errorPage);
+        errorEvents.record(request, exception, status, "ErrorPage");
     }
 
     private void printErrorInfo(HttpServletRequest request) {
@@ -60,17 +106,21 @@ public class ErrorPageController {
     /**
      * API 응답 추가
      */
-    // produces = MediaType.APPLICATION_JSON_VALUE : 미디어타입이 json 타입이면 이 메소드 호출
-    // : 클라이언트가 요청하는 HTTP Header 에서 Accept=application/json 일 때 호출
-    @RequestMapping(value = "/error-page/500", produces = MediaType.APPLICATION_JSON_VALUE)
+    // 이전에는 produces = MediaType.APPLICATION_JSON_VALUE 로 매핑했지만 (Accept=application/json 일 때 호출)
+    // 지금은 errorPage500 에서 ErrorResponseNegotiator 로 JSON 을 선택한 경우 호출한다.
     public ResponseEntity<Map<String, Object>> errorPage500Api(HttpServletRequest request, HttpServletResponse response) {
         // 응답데이터 ResponseEntity 를 위해 Map 으로 생성, Jackson 을 이용하면 Map 을 JSON 으로 변환 가능
-        log.info("API errorPage 500");
+        accessLog.info(log, "API errorPage 500 [{}]", CorrelationId.get(request));
+        recordMetrics(request, "/error-page/500");
 
         Map<String, Object> result = new HashMap<>();
         Exception exception = (Exception) request.getAttribute(ERROR_EXCEPTION);
         result.put("status", request.getAttribute(ERROR_STATUS_CODE));
-        result.put("message", exception.getMessage());
+        // 예외 : ExControllerAdvice 와 같은 규칙으로 요청 locale 의 메시지 (내부 예외 메시지를 노출하지 않는다)
+        // sendError(500) 인 경우 예외가 없으므로 에러 메시지 사용 (resolver 에서 이미 locale 에 맞게 전달)
+        result.put("message", exception != null
+                ? errorMessages.getMessage(ErrorMapping.resolve(exception), exception, RequestContextUtils.getLocale(request))
+                : request.getAttribute(ERROR_MESSAGE));
 
         Integer statusCode = (Integer) request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE);
         return new ResponseEntity(result, HttpStatus.valueOf(statusCode));
@@ -0,0 +1,80 @@
+package hello.exception.servlet;
+
+import lombok.Getter;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * 에러 응답을 최초 REQUEST 디스패치 안에서 바로 렌더링하는 필터
+ * sendError(), 예외를 WAS 까지 올려보내지 않고 여기서 가로채서 InPlaceErrorRenderer 로 에러 페이지를 만든다.
+ * -> WAS 가 에러 페이지 경로로 다시 요청(dispatchType=ERROR)하는 과정이 생략된다.
+ * 렌더링 할 수 없는 경우(응답 커밋 등)는 기존처럼 WAS 에 넘긴다.
+ */
+public class InPlaceErrorFilter implements Filter {
+
+    private final InPlaceErrorRenderer renderer;
+
+    public InPlaceErrorFilter(InPlaceErrorRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        ErrorCapturingResponse capturingResponse = new ErrorCapturingResponse(httpResponse);
+
+        try {
+            chain.doFilter(request, capturingResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (!renderer.render(httpRequest, httpResponse, e)) {
+                throw e;
+            }
+            return;
+        }
+
+        if (capturingResponse.isErrorSent()
+                && !renderer.render(httpRequest, httpResponse, capturingResponse.getErrorStatus(), capturingResponse.getErrorMessage())) {
+            // 렌더링 실패 : 기존 흐름대로 WAS 에 에러 페이지 처리를 맡긴다.
+            httpResponse.sendError(capturingResponse.getErrorStatus(), capturingResponse.getErrorMessage());
+        }
+    }
+
+    /**
+     * sendError() 호출을 WAS 에 전달하지 않고 상태만 기록해두는 응답
+     */
+    @Getter
+    static class ErrorCapturingResponse extends HttpServletResponseWrapper {
+
+        private boolean errorSent;
+        private int errorStatus;
+        private String errorMessage;
+
+        ErrorCapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            sendError(sc, null);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            if (isCommitted()) {
+                // 이미 커밋된 응답은 서블릿 스펙대로 처리 (IllegalStateException)
+                super.sendError(sc, msg);
+                return;
+            }
+            errorSent = true;
+            errorStatus = sc;
+            errorMessage = msg;
+            setStatus(sc);
+            resetBuffer();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package hello.exception.servlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.WebServerCustomizer;
+import hello.exception.exhandler.ErrorResponseNegotiator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.servlet.error.BasicErrorController;
+import org.springframework.boot.web.server.ErrorPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * WAS 의 에러 페이지 요청(ERROR 디스패치)과 같은 결과를 현재 요청 안에서 만든다.
+ * 1. 에러 페이지 경로 결정 (WebServerCustomizer 의 ErrorPage 등록 정보, 없으면 스프링 부트 기본 /error)
+ * 2. WAS 가 넘겨주는 javax.servlet.error.* 요청 속성을 똑같이 설정
+ * 3. 해당 경로를 처리하는 컨트롤러(ErrorPageController, BasicErrorController)를 직접 호출하고 뷰/JSON 을 그대로 렌더링
+ * 같은 컨트롤러, 같은 뷰, 같은 ObjectMapper 를 사용하므로 응답 바디는 기존 에러 페이지와 동일하다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InPlaceErrorRenderer {
+
+    private final ObjectProvider<WebServerCustomizer> webServerCustomizer;
+    private final ObjectProvider<ErrorPageController> errorPageController;
+    private final ObjectProvider<BasicErrorController> basicErrorController;
+    private final ObjectProvider<ViewResolver> viewResolvers;
+    private final ObjectMapper objectMapper;
+    private final ServerProperties serverProperties;
+    private final ErrorResponseNegotiator errorResponseNegotiator;
+
+    /**
+     * 예외가 필터까지 올라온 경우
+     */
+    public boolean render(HttpServletRequest request, HttpServletResponse response, Throwable ex) {
+        Throwable error = unwrap(ex);
+        request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, error);
+        request.setAttribute(RequestDispatcher.ERROR_EXCEPTION_TYPE, error.getClass());
+        return render(request, response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, error.getMessage(), error);
+    }
+
+    /**
+     * response.sendError() 가 호출된 경우
+     */
+    public boolean render(HttpServletRequest request, HttpServletResponse response, int status, String message) {
+        return render(request, response, status, message, null);
+    }
+
+    private boolean render(HttpServletRequest request, HttpServletResponse response, int status, String message, Throwable error) {
+        if (response.isCommitted()) {
+            return false;
+        }
+        String path = errorPath(status, error);
+        if (path == null) {
+            return false;
+        }
+
+        // WAS 가 에러 페이지를 요청할 때 추가하는 정보와 동일하게 설정
+        request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+        request.setAttribute(RequestDispatcher.ERROR_MESSAGE, message == null ? "" : message);
+        request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+        request.setAttribute(RequestDispatcher.ERROR_SERVLET_NAME, request.getHttpServletMapping().getServletName());
+        response.resetBuffer();
+        response.setStatus(status);
+
+        try {
+            return dispatch(path, request, response);
+        } catch (Exception e) {
+            log.warn("in-place error rendering failed, fallback to error dispatch. path={}", path, e);
+            return false;
+        }
+    }
+
+    private boolean dispatch(String path, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        // ErrorPageController 의 @RequestMapping 경로
+        if ("/error-page/404".equals(path)) {
+            return renderView(new ModelAndView(errorPageController.getObject().errorPage404(request, response)), request, response);
+        }
+        if ("/error-page/500".equals(path)) {
+            // JSON / HTML 선택은 ErrorPageController 에서 한다. (JSON 은 컨트롤러가 이미 응답을 썼으면 null)
+            ModelAndView mav = errorPageController.getObject().errorPage500(request, response);
+            return mav == null || renderView(mav, request, response);
+        }
+
+        // 스프링 부트 기본 에러 페이지 (/error)
+        BasicErrorController controller = basicErrorController.getIfAvailable();
+        if (controller == null || !path.equals(serverProperties.getError().getPath())) {
+            return false;
+        }
+        if (errorResponseNegotiator.prefersJson(request)) {
+            return writeEntity(controller.error(request), response);
+        }
+        return renderView(controller.errorHtml(request, response), request, response);
+    }
+
+    /**
+     * WAS 와 같은 순서로 에러 페이지를 찾는다. 예외 타입 -> 상태 코드 -> 전역 에러 페이지
+     */
+    private String errorPath(int status, Throwable error) {
+        List<ErrorPage> pages = webServerCustomizer.getIfAvailable() == null ? List.of() : List.of(WebServerCustomizer.errorPages());
+
+        if (error != null) {
+            for (Class<?> type = error.getClass(); type != null; type = type.getSuperclass()) {
+                for (ErrorPage page : pages) {
+                    if (page.getException() == type) {
+                        return page.getPath();
+                    }
+                }
+            }
+        }
+        for (ErrorPage page : pages) {
+            if (page.getStatus() != null && page.getStatusCode() == status) {
+                return page.getPath();
+            }
+        }
+        return serverProperties.getError().getPath();
+    }
+
+    private boolean renderView(ModelAndView mav, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Locale locale = request.getLocale();
+        View view = mav.getView();
+        if (view == null) {
+            view = resolveView(mav.getViewName(), locale);
+        }
+        if (view == null) {
+            return false;
+        }
+        if (mav.getStatus() != null) {
+            response.setStatus(mav.getStatus().value());
+        }
+        // DispatcherServlet.render() 와 동일
+        response.setLocale(locale);
+        view.render(mav.getModel(), request, response);
+        return true;
+    }
+
+    private View resolveView(String viewName, Locale locale) throws Exception {
+        if (viewName == null) {
+            return null;
+        }
+        Iterator<ViewResolver> iterator = viewResolvers.orderedStream().iterator();
+        while (iterator.hasNext()) {
+            View view = iterator.next().resolveViewName(viewName, locale);
+            if (view != null) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    private boolean writeEntity(ResponseEntity<?> entity, HttpServletResponse response) throws Exception {
+        response.setStatus(entity.getStatusCodeValue());
+        entity.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        Object body = entity.getBody();
+        if (body != null) {
+            // MappingJackson2HttpMessageConverter 와 같은 ObjectMapper 빈을 사용하므로 같은 JSON 이 만들어진다.
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(bytes);
+        }
+        return true;
+    }
+
+    private Throwable unwrap(Throwable ex) {
+        Throwable error = ex;
+        while (error instanceof ServletException && ((ServletException) error).getRootCause() != null) {
+            error = ((ServletException) error).getRootCause();
+        }
+        return error;
+    }
+}
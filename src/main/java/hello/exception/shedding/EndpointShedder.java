@@ -0,0 +1,139 @@
+package hello.exception.shedding;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트 하나의 차단 상태
+ * CLOSED : 모두 통과, 5xx 비율 집계
+ * OPEN : 모두 차단 (openDuration 동안)
+ * HALF_OPEN : 일부만 통과시키고 에러율이 낮으면 통과 비율을 점점 늘려서 CLOSED, 다시 에러가 많으면 OPEN
+ * 정상 경로(CLOSED)의 확인은 volatile 읽기 한번이다.
+ */
+@Slf4j
+public class EndpointShedder {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final String endpoint;
+    private final LoadSheddingProperties properties;
+    private final SlidingWindow window;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long stateChangedAt;
+    private volatile int admitEvery = 1;
+    private final AtomicLong admitSequence = new AtomicLong();
+    private final LongAdder shed = new LongAdder();
+
+    EndpointShedder(String endpoint, LoadSheddingProperties properties) {
+        this.endpoint = endpoint;
+        this.properties = properties;
+        this.window = new SlidingWindow(properties.getWindow().toMillis(), properties.getBuckets());
+    }
+
+    /**
+     * 요청을 처리해도 되는지 확인. false 면 차단
+     */
+    public boolean tryAcquire(long nowMillis) {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (nowMillis - stateChangedAt < properties.getOpenDuration().toMillis()
+                    || !transition(State.OPEN, State.HALF_OPEN, nowMillis)) {
+                shed.increment();
+                return false;
+            }
+        }
+        // HALF_OPEN : admitEvery 건 중 1건만 통과
+        if (admitSequence.getAndIncrement() % admitEvery == 0) {
+            return true;
+        }
+        shed.increment();
+        return false;
+    }
+
+    /**
+     * 통과시킨 요청의 결과 기록 (error : 5xx 응답 또는 예외)
+     */
+    public void onComplete(long nowMillis, boolean error) {
+        window.record(nowMillis, error);
+
+        State current = state.get();
+        long[] totals = window.totals(nowMillis);
+        long requests = totals[0];
+        boolean overThreshold = totals[1] >= requests * properties.getErrorRateThreshold();
+
+        if (current == State.CLOSED) {
+            if (error && requests >= properties.getMinRequests() && overThreshold) {
+                transition(State.CLOSED, State.OPEN, nowMillis);
+            }
+        } else if (current == State.HALF_OPEN && requests >= properties.getHalfOpenMinProbes()) {
+            if (overThreshold) {
+                transition(State.HALF_OPEN, State.OPEN, nowMillis);
+            } else if (nowMillis - stateChangedAt >= properties.getHalfOpenStepDuration().toMillis()) {
+                stepUp(nowMillis);
+            }
+        }
+    }
+
+    // 통과 비율을 두 배로, 전부 통과하게 되면 CLOSED
+    private void stepUp(long nowMillis) {
+        int next = admitEvery / 2;
+        if (next <= 1) {
+            transition(State.HALF_OPEN, State.CLOSED, nowMillis);
+            return;
+        }
+        admitEvery = next;
+        stateChangedAt = nowMillis;
+    }
+
+    private boolean transition(State from, State to, long nowMillis) {
+        if (to == State.HALF_OPEN) {
+            // 상태가 바뀌기 전에 설정해서 다른 스레드가 HALF_OPEN 을 보면 항상 처음 통과 비율을 사용
+            admitEvery = Math.max(1, properties.getHalfOpenAdmitEvery());
+        }
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+        stateChangedAt = nowMillis;
+        // 새 상태에서는 새로 집계
+        window.reset();
+        log.warn("load shedding [{}] {} -> {}", endpoint, from, to);
+        return true;
+    }
+
+    /**
+     * 차단 응답의 Retry-After (초)
+     */
+    public long retryAfterSeconds(long nowMillis) {
+        if (state.get() != State.OPEN) {
+            return 1;
+        }
+        long remaining = properties.getOpenDuration().toMillis() - (nowMillis - stateChangedAt);
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    public void reset() {
+        state.set(State.CLOSED);
+        admitEvery = 1;
+        window.reset();
+        shed.reset();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+}
@@ -0,0 +1,89 @@
+package hello.exception.shedding;
+
+import hello.exception.filter.PathRules;
+import hello.exception.metrics.MetricsSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 엔드포인트별 에러 폭주 차단
+ * 필터 단계에서는 아직 핸들러 매핑 전이므로, 설정한 "[HTTP 메소드] 경로 패턴" (GET /api/members/{id} 등)으로 엔드포인트를 구분한다.
+ * ・메소드를 생략하면 모든 메소드 (같은 경로의 POST /api/members/batch 와 GET /api/members/{id} 를 구분하려면 메소드를 지정)
+ * ・경로는 디스패처와 같은 lookup path (context path 제외, 디코딩, ";jsessionid" 제거) 로 비교한다.
+ * 패턴은 기동할 때 한번만 파싱한다.
+ */
+@Component
+@ConditionalOnProperty(name = "exception.shedding.enabled", havingValue = "true")
+@EnableConfigurationProperties(LoadSheddingProperties.class)
+public class LoadShedder implements MetricsSource {
+
+    // null 이면 모든 메소드
+    private final List<String> methods = new ArrayList<>();
+    private final List<PathPattern> patterns = new ArrayList<>();
+    private final List<EndpointShedder> shedders = new ArrayList<>();
+
+    public LoadShedder(LoadSheddingProperties properties) {
+        for (String endpoint : properties.getEndpoints()) {
+            String trimmed = endpoint.trim();
+            int space = trimmed.indexOf(' ');
+            methods.add(space < 0 ? null : trimmed.substring(0, space).toUpperCase(Locale.ROOT));
+            patterns.add(PathPatternParser.defaultInstance.parse(space < 0 ? trimmed : trimmed.substring(space + 1).trim()));
+            shedders.add(new EndpointShedder(trimmed, properties));
+        }
+    }
+
+    /**
+     * @return 요청 메소드, 경로에 해당하는 엔드포인트, 대상이 아니면 null
+     */
+    public EndpointShedder shedderFor(HttpServletRequest request) {
+        String method = request.getMethod();
+        PathContainer path = null;
+        for (int i = 0; i < patterns.size(); i++) {
+            String expected = methods.get(i);
+            if (expected != null && !expected.equals(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(PathRules.lookupPath(request));
+            }
+            if (patterns.get(i).matches(path)) {
+                return shedders.get(i);
+            }
+        }
+        return null;
+    }
+
+    public List<EndpointShedder> getShedders() {
+        return shedders;
+    }
+
+    public void reset() {
+        shedders.forEach(EndpointShedder::reset);
+    }
+
+    @Override
+    public void writeMetrics(StringBuilder out) {
+        out.append("# TYPE load_shed_requests_total counter\n");
+        for (EndpointShedder shedder : shedders) {
+            out.append("load_shed_requests_total{endpoint=\"");
+            MetricsSource.writeLabelValue(out, shedder.getEndpoint());
+            out.append("\"} ").append(shedder.getShedCount()).append('\n');
+        }
+        // 0 : CLOSED, 1 : OPEN, 2 : HALF_OPEN
+        out.append("# TYPE load_shed_state gauge\n");
+        for (EndpointShedder shedder : shedders) {
+            out.append("load_shed_state{endpoint=\"");
+            MetricsSource.writeLabelValue(out, shedder.getEndpoint());
+            out.append("\"} ").append(shedder.getState().ordinal()).append('\n');
+        }
+    }
+}
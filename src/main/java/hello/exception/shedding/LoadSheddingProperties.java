@@ -0,0 +1,38 @@
+package hello.exception.shedding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.shedding")
+public class LoadSheddingProperties {
+
+    // 에러 폭주 시 요청 차단 (기본 false)
+    private boolean enabled = false;
+
+    // 에러율을 따로 집계할 "[HTTP 메소드] 경로 패턴" (위에서부터 처음 일치하는 패턴 사용, 일치하지 않는 요청은 차단하지 않음)
+    // 메소드를 생략하면 모든 메소드 (GET /api/members/{id} 는 POST /api/members/batch 와 따로 집계)
+    private List<String> endpoints = new ArrayList<>(List.of("GET /api/members/{id}", "GET /api2/members/{id}"));
+
+    // 에러율 집계 구간, 구간을 나누는 bucket 수
+    private Duration window = Duration.ofSeconds(10);
+    private int buckets = 10;
+
+    // 구간 안에서 이 요청 수 이상이고 5xx 비율이 threshold 이상이면 차단 (OPEN)
+    private int minRequests = 20;
+    private double errorRateThreshold = 0.5;
+
+    // 차단 유지 시간. 지나면 일부 요청만 통과시켜서 확인 (HALF_OPEN)
+    private Duration openDuration = Duration.ofSeconds(5);
+
+    // HALF_OPEN : 처음에는 halfOpenAdmitEvery 건 중 1건만 통과, 에러율이 낮으면 stepDuration 마다 통과 비율을 두 배로 늘리고 전부 통과하면 CLOSED
+    private int halfOpenAdmitEvery = 8;
+    private int halfOpenMinProbes = 5;
+    private Duration halfOpenStepDuration = Duration.ofSeconds(2);
+}
@@ -0,0 +1,65 @@
+package hello.exception.shedding;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 window 동안의 요청 수 / 에러 수 (bucket 단위 원형 배열)
+ * 락 없이 AtomicLong 만 사용한다. bucket 이 새 시간대로 바뀌는 순간 동시에 기록된 몇 건은 유실될 수 있다. (에러율 판단에는 충분)
+ */
+class SlidingWindow {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+
+    SlidingWindow(long windowMillis, int bucketCount) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    void record(long nowMillis, boolean error) {
+        long slot = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (slot % buckets.length)];
+        long current = bucket.slot.get();
+        if (current != slot && bucket.slot.compareAndSet(current, slot)) {
+            bucket.requests.set(0);
+            bucket.errors.set(0);
+        }
+        bucket.requests.incrementAndGet();
+        if (error) {
+            bucket.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return {요청 수, 에러 수}
+     */
+    long[] totals(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - buckets.length + 1;
+        long requests = 0;
+        long errors = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.slot.get() >= oldest) {
+                requests += bucket.requests.get();
+                errors += bucket.errors.get();
+            }
+        }
+        return new long[]{requests, errors};
+    }
+
+    void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.slot.set(-1);
+            bucket.requests.set(0);
+            bucket.errors.set(0);
+        }
+    }
+
+    private static class Bucket {
+        private final AtomicLong slot = new AtomicLong(-1);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
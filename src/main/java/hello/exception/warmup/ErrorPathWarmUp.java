@@ -0,0 +1,179 @@
+package hello.exception.warmup;
+
+import hello.exception.UserException;
+import hello.exception.events.ErrorEvents;
+import hello.exception.log.CorrelationId;
+import hello.exception.log.ErrorReporter;
+import hello.exception.log.StackTraceFormatter;
+import hello.exception.metrics.ErrorMetrics;
+import hello.exception.metrics.MeteredHandlerExceptionResolver;
+import hello.exception.resolver.ExceptionDispatchResolver;
+import hello.exception.shedding.LoadShedder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.handler.HandlerExceptionResolverComposite;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 기동 직후 에러 처리 경로 warm-up
+ * 배포 직후 첫 에러 응답은 ExceptionHandlerMethodResolver 캐시, Thymeleaf 템플릿 파싱, Jackson serializer 생성, JIT 때문에 느리다.
+ * ApplicationRunner 는 내장 서버가 뜬 뒤, ApplicationReadyEvent (readiness ACCEPTING_TRAFFIC) 전에 실행되므로
+ * 여기서 localhost 로 각 에러 경로에 실제 요청을 보내서 트래픽을 받기 전에 초기화한다.
+ * 경로마다 첫 요청과 warm-up 이후 지연 시간을 로그로 남기고, warm-up 으로 쌓인 지표, 에러 로그 집계, 차단 상태, stack trace 캐시는 초기화한다.
+ * 에러 이벤트 (SSE 재전송 ring buffer, ErrorJournal) 는 warm-up 동안 기록하지 않는다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "exception.warm-up.enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class ErrorPathWarmUp implements ApplicationRunner {
+
+    private static final String JSON = "application/json";
+    private static final String HTML = "text/html";
+
+    // ExControllerAdvice 4개 핸들러 (JSON, HTML, ASYNC 디스패치), @ResponseStatus / ResponseStatusException, 서블릿 에러 페이지, BasicErrorController
+    // (WebServerCustomizer, exception.error-page.in-place 설정에 따라 /error-ex 등은 ErrorPageController 또는 BasicErrorController 가 처리)
+    private static final List<Route> ROUTES = List.of(
+            new Route("advice IllegalArgumentException", "/api/members/bad", JSON),
+            new Route("advice UserException", "/api/members/user-ex", JSON),
+            new Route("advice MemberNotFoundException", "/api/members/warm-up-missing", JSON),
+            new Route("advice Exception", "/api/members/ex", JSON),
+            new Route("advice 4xx view", "/api2/members/bad", HTML),
+            new Route("advice 500 view", "/api2/members/ex", HTML),
+            new Route("async advice UserException", "/api/async/members/user-ex", JSON),
+            new Route("deferred advice Exception", "/api/deferred/members/ex", JSON),
+            new Route("@ResponseStatus json", "/api/response-status-ex1", JSON),
+            new Route("@ResponseStatus html", "/api/response-status-ex1", HTML),
+            new Route("ResponseStatusException json", "/api/response-status-ex2", JSON),
+            new Route("ResponseStatusException html", "/api/response-status-ex2", HTML),
+            new Route("type mismatch json", "/api/default-handler-ex?data=abc", JSON),
+            new Route("error page exception html", "/error-ex", HTML),
+            new Route("error page exception json", "/error-ex", JSON),
+            new Route("error page 404 html", "/error-404", HTML),
+            new Route("error page 500 html", "/error-500", HTML),
+            new Route("error page 500 json", "/error-500", JSON));
+
+    private final WarmUpProperties properties;
+    private final ApplicationContext context;
+    private final ErrorMetrics errorMetrics;
+    private final ErrorReporter errorReporter;
+    private final ErrorEvents errorEvents;
+    private final StackTraceFormatter stackTraceFormatter;
+    private final ObjectProvider<LoadShedder> loadShedder;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!(context instanceof WebServerApplicationContext)) {
+            // @SpringBootTest(MOCK) 등 내장 서버가 없는 경우
+            return;
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        if (port <= 0) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        warmUpDispatchResolvers();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(properties.getTimeout()).build();
+        int iterations = Math.max(1, properties.getIterations());
+        errorEvents.pause();
+        try {
+            for (int r = 0; r < ROUTES.size(); r++) {
+                Route route = ROUTES.get(r);
+                try {
+                    warmUp(client, port, r, route, iterations);
+                } catch (IOException e) {
+                    log.warn("warm-up {} failed: {}", route.name, e.toString());
+                }
+                // 에러 비율이 높은 warm-up 요청으로 엔드포인트가 차단되지 않도록 경로마다 초기화
+                loadShedder.ifAvailable(LoadShedder::reset);
+            }
+        } finally {
+            errorEvents.resume();
+        }
+
+        errorMetrics.reset();
+        errorReporter.reset();
+        stackTraceFormatter.clear();
+        log.info("error path warm-up finished: {} routes x {} requests in {}ms",
+                ROUTES.size(), iterations, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void warmUp(HttpClient client, int port, int routeIndex, Route route, int iterations) throws IOException, InterruptedException {
+        long[] latencies = new long[iterations];
+        int status = 0;
+        for (int i = 0; i < iterations; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + route.path))
+                    .timeout(properties.getTimeout())
+                    .header("Accept", route.accept)
+                    // 로그, 에러 이벤트, 저널에서 warm-up 요청을 구분할 수 있도록 ID 지정
+                    .header(CorrelationId.HEADER, "warm-up-" + routeIndex + "-" + i)
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            latencies[i] = System.nanoTime() - start;
+            status = response.statusCode();
+        }
+
+        if (iterations == 1) {
+            log.info("warm-up {} [{} {}] status={} first={}us", route.name, route.accept, route.path, status, latencies[0] / 1000);
+            return;
+        }
+        // 첫 요청 vs 나머지 요청의 중앙값, 최대값
+        long first = latencies[0];
+        long[] warmed = Arrays.copyOfRange(latencies, 1, iterations);
+        Arrays.sort(warmed);
+        log.info("warm-up {} [{} {}] status={} first={}us warmed p50={}us max={}us",
+                route.name, route.accept, route.path, status,
+                first / 1000, warmed[warmed.length / 2] / 1000, warmed[warmed.length - 1] / 1000);
+    }
+
+    // 커스텀 resolver (MyHandlerExceptionResolver, UserHandlerExceptionResolver) 는 ExControllerAdvice 가 모든 예외를 먼저 처리하므로
+    // HTTP 요청으로는 도달하지 않는다. 예외 타입 -> 처리방법 조회 결과만 미리 계산해둔다.
+    private void warmUpDispatchResolvers() {
+        HandlerExceptionResolver composite = context.getBean("handlerExceptionResolver", HandlerExceptionResolver.class);
+        if (!(composite instanceof HandlerExceptionResolverComposite)) {
+            return;
+        }
+        for (HandlerExceptionResolver resolver : ((HandlerExceptionResolverComposite) composite).getExceptionResolvers()) {
+            if (resolver instanceof MeteredHandlerExceptionResolver) {
+                resolver = ((MeteredHandlerExceptionResolver) resolver).getDelegate();
+            }
+            if (resolver instanceof ExceptionDispatchResolver) {
+                ExceptionDispatchResolver dispatchResolver = (ExceptionDispatchResolver) resolver;
+                dispatchResolver.resolutionFor(IllegalArgumentException.class);
+                dispatchResolver.resolutionFor(UserException.class);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Route {
+        private final String name;
+        private final String path;
+        private final String accept;
+    }
+}
@@ -0,0 +1,22 @@
+package hello.exception.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "exception.warm-up")
+public class WarmUpProperties {
+
+    // true 면 기동 직후 (ready 전) 에러 처리 경로에 실제 요청을 보내서 미리 초기화한다.
+    private boolean enabled = false;
+
+    // 경로당 요청 수 (첫 요청 포함)
+    private int iterations = 50;
+
+    // 요청 하나의 최대 대기 시간
+    private Duration timeout = Duration.ofSeconds(5);
+}
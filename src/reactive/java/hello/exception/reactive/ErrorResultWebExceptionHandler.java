@@ -0,0 +1,106 @@
+package hello.exception.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.cache.ClockCache;
+import hello.exception.exhandler.ErrorMapping;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.exhandler.ErrorResult;
+import hello.exception.log.ErrorReporter;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * ExControllerAdvice 의 리액티브 버전
+ * 컨트롤러에서 발생한 예외를 ErrorMapping 으로 변환해서 ErrorResult JSON 으로 응답한다.
+ * 메시지는 서블릿 버전과 같이 ErrorMessages 로 요청 locale(Accept-Language) 의 메시지 번들에서 찾는다.
+ * 스프링 부트의 DefaultErrorWebExceptionHandler(@Order(-1)) 보다 먼저 실행된다.
+ * 핸들러를 찾기 전에 발생한 예외(404 경로 없음, 405 등)는 서블릿에서 BasicErrorController 가 처리하는 것처럼 기본 처리기로 넘긴다.
+ */
+@Slf4j
+@Order(-2)
+@Component
+@RequiredArgsConstructor
+public class ErrorResultWebExceptionHandler implements WebExceptionHandler {
+
+    // 고정 메시지 종류는 (규칙 x locale) 로 한정되어 있다. (가득 차면 자주 쓰지 않는 바디부터 교체)
+    private static final int MAX_FIXED_BODIES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ErrorReporter errorReporter;
+    private final ErrorMessages errorMessages;
+
+    // 고정 메시지 바디는 (규칙, 메시지) 별로 한번만 직렬화
+    private final ClockCache<FixedBodyKey, byte[]> fixedBodies = new ClockCache<>(MAX_FIXED_BODIES);
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted() || !handledByController(exchange, ex)) {
+            return Mono.error(ex);
+        }
+
+        ErrorMapping.Rule rule = ErrorMapping.resolve(ex);
+        errorReporter.error(log, rule.getType().getSimpleName(), "[exceptionHandle] ex", ex);
+
+        String message = errorMessages.getMessage(rule, ex, locale(exchange));
+        byte[] body;
+        try {
+            body = rule.isFixed() ? fixedBody(rule, message) : serialize(rule, message);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+
+        response.setStatusCode(HttpStatus.valueOf(rule.getStatus()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private boolean handledByController(ServerWebExchange exchange, Throwable ex) {
+        return !(ex instanceof ResponseStatusException)
+                || exchange.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) != null;
+    }
+
+    // Accept-Language 가 없으면 서블릿의 request.getLocale() 처럼 서버 기본 locale
+    private Locale locale(ServerWebExchange exchange) {
+        Locale locale = exchange.getLocaleContext().getLocale();
+        return locale != null ? locale : Locale.getDefault();
+    }
+
+    private byte[] fixedBody(ErrorMapping.Rule rule, String message) throws JsonProcessingException {
+        FixedBodyKey key = new FixedBodyKey(rule, message);
+        byte[] body = fixedBodies.get(key);
+        if (body == null) {
+            body = serialize(rule, message);
+            fixedBodies.put(key, body);
+        }
+        return body;
+    }
+
+    private byte[] serialize(ErrorMapping.Rule rule, String message) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ErrorResult(rule.getCode(), message));
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class FixedBodyKey {
+        private final ErrorMapping.Rule rule;
+        private final String message;
+    }
+}
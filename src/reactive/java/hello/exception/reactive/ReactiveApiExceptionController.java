@@ -0,0 +1,63 @@
+package hello.exception.reactive;
+
+import hello.exception.exception.BadRequestException;
+import hello.exception.member.MemberProperties;
+import hello.exception.member.MemberRepository;
+import hello.exception.member.SimulatedFailure;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ApiExceptionController 와 같은 API (예외는 Mono.error 로 전달)
+ * 같은 회원 저장소(MemberStorageConfig)를 조회하므로 없는 회원은 MemberNotFoundException -> 404 NOT-FOUND
+ */
+@RestController
+public class ReactiveApiExceptionController {
+
+    private final MemberRepository memberRepository;
+    // FILE 저장소는 파일을 읽으므로 이벤트 루프가 아닌 별도 스레드에서 조회한다. (MEMORY 는 그대로)
+    private final Scheduler lookupScheduler;
+
+    public ReactiveApiExceptionController(MemberRepository memberRepository, MemberProperties properties) {
+        this.memberRepository = memberRepository;
+        this.lookupScheduler = properties.getStorage() == MemberProperties.StorageType.FILE
+                ? Schedulers.boundedElastic()
+                : Schedulers.immediate();
+    }
+
+    @GetMapping("/api/members/{id}")
+    public Mono<MemberDto> getMember(@PathVariable("id") String id) {
+        SimulatedFailure failure = SimulatedFailure.of(id);
+        if (failure != null) {
+            return Mono.error(failure.toException());
+        }
+        return Mono.fromCallable(() -> memberRepository.findById(id))
+                .subscribeOn(lookupScheduler)
+                .map(member -> new MemberDto(member.getId(), member.getName()));
+    }
+
+    @GetMapping("/api/response-status-ex1")
+    public Mono<String> responseStatusEx1() {
+        return Mono.error(BadRequestException.of());
+    }
+
+    @GetMapping("/api/response-status-ex2")
+    public Mono<String> responseStatusEx2() {
+        return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "error.bad", new IllegalArgumentException()));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class MemberDto {
+        private String memberId;
+        private String name;
+    }
+}
@@ -0,0 +1,27 @@
+package hello.exception.reactive;
+
+import hello.exception.log.ErrorReportProperties;
+import hello.exception.log.ErrorReporter;
+import hello.exception.log.StackTraceFormatter;
+import hello.exception.log.StackTraceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 서블릿 버전과 같은 에러 로그 중복 제거 (log.error-report.*, log.stack-trace.* 설정 공유)
+ */
+@Configuration
+@EnableConfigurationProperties({ErrorReportProperties.class, StackTraceProperties.class})
+public class ReactiveErrorReportConfig {
+
+    @Bean
+    public StackTraceFormatter stackTraceFormatter(StackTraceProperties properties) {
+        return new StackTraceFormatter(properties);
+    }
+
+    @Bean
+    public ErrorReporter errorReporter(ErrorReportProperties properties, StackTraceFormatter stackTraceFormatter) {
+        return new ErrorReporter(properties, stackTraceFormatter);
+    }
+}
@@ -0,0 +1,26 @@
+package hello.exception.reactive;
+
+import hello.exception.exception.StacklessExceptionConfig;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.member.MemberStorageConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 리액티브(WebFlux + Netty) 버전 (./gradlew bootRunReactive)
+ * 서블릿 버전과 같은 /api/members/{id} API, 같은 ErrorResult 에러 응답을 제공한다.
+ * 이 패키지만 스캔하므로 서블릿 전용 빈(필터, 인터셉터, 에러 페이지 컨트롤러)은 등록되지 않는다.
+ * 회원 저장소, 에러 메시지 번들은 서블릿 버전과 같은 설정(member.*, exception.messages.*)으로 import 한다.
+ */
+@SpringBootApplication
+@Import({StacklessExceptionConfig.class, MemberStorageConfig.class, ErrorMessages.class})
+public class ReactiveExceptionApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveExceptionApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.run(args);
+    }
+}
@@ -0,0 +1,52 @@
+package hello.exception.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClockCacheTest {
+
+    @Test
+    void sizeStaysWithinCapacity() {
+        ClockCache<Integer, String> cache = new ClockCache<>(4);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertThat(cache.size()).isEqualTo(4);
+        assertThat(cache.evictions()).isEqualTo(96);
+        // 가장 최근 항목은 남아 있다.
+        assertThat(cache.get(99)).isEqualTo("v99");
+    }
+
+    @Test
+    void referencedEntrySurvivesEviction() {
+        ClockCache<String, String> cache = new ClockCache<>(3);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("a");
+
+        cache.put("d", "4");
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("d")).isEqualTo("4");
+    }
+
+    @Test
+    void putReplacesExistingValue() {
+        ClockCache<String, String> cache = new ClockCache<>(2);
+        cache.put("a", "1");
+        cache.put("a", "2");
+
+        assertThat(cache.get("a")).isEqualTo("2");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.evictions()).isZero();
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThatThrownBy(() -> new ClockCache<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package hello.exception.exhandler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseNegotiatorTest {
+
+    private final ErrorResponseNegotiator negotiator = new ErrorResponseNegotiator();
+
+    @Test
+    void noAcceptIsJson() {
+        assertThat(negotiator.prefersJson((String) null)).isTrue();
+        assertThat(negotiator.prefersJson("")).isTrue();
+        assertThat(negotiator.prefersJson("  ")).isTrue();
+    }
+
+    @Test
+    void browserIsHtml() {
+        assertThat(negotiator.prefersJson("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")).isFalse();
+        assertThat(negotiator.prefersJson("TEXT/HTML")).isFalse();
+        assertThat(negotiator.prefersJson("text/*")).isFalse();
+    }
+
+    @Test
+    void moreSpecificRangeWinsOnSameQuality() {
+        assertThat(negotiator.prefersJson("application/json, text/plain, */*")).isTrue();
+        assertThat(negotiator.prefersJson("text/html, */*")).isFalse();
+    }
+
+    @Test
+    void higherQualityWins() {
+        assertThat(negotiator.prefersJson("text/html;q=0.5, application/json;q=0.9")).isTrue();
+        assertThat(negotiator.prefersJson("application/json;q=0, text/html")).isFalse();
+    }
+
+    @Test
+    void tieOrNeitherAcceptableIsJson() {
+        assertThat(negotiator.prefersJson("*/*")).isTrue();
+        assertThat(negotiator.prefersJson("*")).isTrue();
+        assertThat(negotiator.prefersJson("image/png")).isTrue();
+        assertThat(negotiator.prefersJson("text/html, application/json")).isFalse();
+        assertThat(negotiator.prefersJson("application/json, text/html")).isTrue();
+    }
+
+    @Test
+    void invalidRangesAreIgnored() {
+        assertThat(negotiator.prefersJson("text/html;q=abc, application/json;q=0.1")).isTrue();
+        assertThat(negotiator.prefersJson("text/html;q=2, application/json;q=0.1")).isTrue();
+        assertThat(negotiator.prefersJson("html, /json, text/")).isTrue();
+    }
+
+    @Test
+    void cachedDecisionStaysCorrectAfterManyDistinctHeaders() {
+        String browser = "text/html,application/xhtml+xml,*/*;q=0.8";
+        assertThat(negotiator.prefersJson(browser)).isFalse();
+        // 캐시 크기보다 많은 서로 다른 헤더 (오래된 항목은 교체된다)
+        for (int i = 0; i < 2_000; i++) {
+            assertThat(negotiator.prefersJson("application/json;v=" + i)).isTrue();
+        }
+        assertThat(negotiator.prefersJson(browser)).isFalse();
+    }
+}
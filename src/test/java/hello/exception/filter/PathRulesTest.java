@@ -0,0 +1,86 @@
+package hello.exception.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathRulesTest {
+
+    // WebConfig 의 LogInterceptor 규칙과 같은 형태
+    private final PathRules interceptorRules = PathRules.builder()
+            .include("/**")
+            .exclude("/css/**", "/*.ico", "/error", "/error-page/**")
+            .build();
+
+    @Test
+    void literalSubtreeAndWildcard() {
+        assertThat(interceptorRules.matches("/api/members/spring")).isTrue();
+        assertThat(interceptorRules.matches("/css/app.css")).isFalse();
+        assertThat(interceptorRules.matches("/css")).isFalse();
+        assertThat(interceptorRules.matches("/cssx/app.css")).isTrue();
+        assertThat(interceptorRules.matches("/favicon.ico")).isFalse();
+        // "/*.ico" 는 첫 세그먼트만
+        assertThat(interceptorRules.matches("/images/favicon.ico")).isTrue();
+        assertThat(interceptorRules.matches("/error")).isFalse();
+        // 스프링 MVC 핸들러 매핑과 같이 끝의 '/' 는 무시
+        assertThat(interceptorRules.matches("/error/")).isFalse();
+        assertThat(interceptorRules.matches("/favicon.ico/")).isFalse();
+        assertThat(interceptorRules.matches("/error-ex")).isTrue();
+        assertThat(interceptorRules.matches("/error-page/500")).isFalse();
+    }
+
+    @Test
+    void noIncludeMeansEverything() {
+        PathRules rules = PathRules.builder().exclude("/css/**").build();
+
+        assertThat(rules.matches("/")).isTrue();
+        assertThat(rules.matches("/api")).isTrue();
+        assertThat(rules.matches("/css/app.css")).isFalse();
+    }
+
+    @Test
+    void rootPattern() {
+        PathRules rules = PathRules.builder().include("/").build();
+
+        assertThat(rules.matches("/")).isTrue();
+        assertThat(rules.matches("/api")).isFalse();
+        assertThat(rules.matches("/api/")).isFalse();
+    }
+
+    @Test
+    void patternsOutsideTrieUseAntPathMatcher() {
+        PathRules rules = PathRules.builder()
+                .include("/api/members/{id}", "/a/**/b", "/files/?.txt")
+                .build();
+
+        assertThat(rules.matches("/api/members/spring")).isTrue();
+        assertThat(rules.matches("/api/members/spring/orders")).isFalse();
+        assertThat(rules.matches("/api/members/spring/")).isTrue();
+        assertThat(rules.matches("/a/b")).isTrue();
+        assertThat(rules.matches("/a/x/y/b")).isTrue();
+        assertThat(rules.matches("/a/x/c")).isFalse();
+        assertThat(rules.matches("/files/1.txt")).isTrue();
+        assertThat(rules.matches("/files/12.txt")).isFalse();
+    }
+
+    @Test
+    void requestUsesPathWithinContext() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/css/app.css");
+        request.setContextPath("/app");
+
+        assertThat(interceptorRules.matches(request)).isFalse();
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "/api/members/spring"))).isTrue();
+    }
+
+    @Test
+    void requestIsNormalizedLikeSpringMvc() {
+        // 중복 '/', URL 인코딩, ';' 경로 파라미터 모두 "/css/app.css" 와 같이 제외
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "//css/app.css"))).isFalse();
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "/%63ss/app.css"))).isFalse();
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "/css;jsessionid=abc/app.css"))).isFalse();
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "/favicon.ico;jsessionid=abc"))).isFalse();
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "/error-page/%35%30%30"))).isFalse();
+        assertThat(interceptorRules.matches(new MockHttpServletRequest("GET", "/api/members/%73pring"))).isTrue();
+    }
+}
@@ -0,0 +1,142 @@
+package hello.exception.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private ErrorJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.destroy();
+        }
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        open(64 * 1024, 4);
+        journal.onError(1000, "req-1", "/api/members/bad", "REQUEST", "java.lang.IllegalArgumentException", 400, "illegalExceptionHandle");
+        journal.onError(2000, null, "/api/members/ex", "ERROR", "java.lang.RuntimeException", 500, "exceptionHandle");
+
+        List<JournalRecord> records = read(ErrorJournalReader.Query.all());
+
+        assertThat(records).hasSize(2);
+        JournalRecord first = records.get(0);
+        assertThat(first.getTimestamp()).isEqualTo(1000);
+        assertThat(first.getStatus()).isEqualTo(400);
+        assertThat(first.getException()).isEqualTo("java.lang.IllegalArgumentException");
+        assertThat(first.getComponent()).isEqualTo("illegalExceptionHandle");
+        assertThat(first.getUri()).isEqualTo("/api/members/bad");
+        assertThat(first.getDispatcherType()).isEqualTo("REQUEST");
+        assertThat(first.getCorrelationId()).isEqualTo("req-1");
+        assertThat(records.get(1).getCorrelationId()).isNull();
+
+        assertThat(read(ErrorJournalReader.Query.all().status(500))).extracting(JournalRecord::getTimestamp).containsExactly(2000L);
+        assertThat(read(ErrorJournalReader.Query.all().exception("IllegalArgument"))).hasSize(1);
+        assertThat(read(ErrorJournalReader.Query.all().from(Instant.ofEpochMilli(1500)))).hasSize(1);
+        assertThat(read(ErrorJournalReader.Query.all().to(Instant.ofEpochMilli(999)))).isEmpty();
+    }
+
+    @Test
+    void tornRecordEndsSegment() throws Exception {
+        open(64 * 1024, 4);
+        for (int i = 1; i <= 3; i++) {
+            journal.onError(i * 1000L, "req-" + i, "/api/members/ex", "REQUEST", "java.lang.RuntimeException", 500, "exceptionHandle");
+        }
+        journal.destroy();
+        journal = null;
+
+        Path segment = JournalFormat.segments(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int firstLength = readInt(file, JournalFormat.FILE_HEADER_SIZE);
+            long second = JournalFormat.FILE_HEADER_SIZE + JournalFormat.RECORD_HEADER_SIZE + firstLength;
+            // 두번째 레코드 payload 가 일부만 기록된 상태 (CRC 불일치)
+            file.seek(second + JournalFormat.RECORD_HEADER_SIZE + 1);
+            file.write(0x7F);
+        }
+
+        // CRC 가 맞지 않는 레코드부터는 읽지 않는다.
+        assertThat(read(ErrorJournalReader.Query.all())).extracting(JournalRecord::getCorrelationId).containsExactly("req-1");
+    }
+
+    @Test
+    void recordWithoutLengthIsNotVisible() throws Exception {
+        open(64 * 1024, 4);
+        journal.onError(1000, "req-1", "/api/members/ex", "REQUEST", "java.lang.RuntimeException", 500, "exceptionHandle");
+        journal.onError(2000, "req-2", "/api/members/ex", "REQUEST", "java.lang.RuntimeException", 500, "exceptionHandle");
+        journal.destroy();
+        journal = null;
+
+        Path segment = JournalFormat.segments(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            int firstLength = readInt(file, JournalFormat.FILE_HEADER_SIZE);
+            // 길이는 마지막에 기록하므로, 길이가 0 이면 payload 를 쓰는 도중 중단된 레코드
+            file.seek(JournalFormat.FILE_HEADER_SIZE + JournalFormat.RECORD_HEADER_SIZE + firstLength);
+            file.writeInt(0);
+        }
+
+        assertThat(read(ErrorJournalReader.Query.all())).extracting(JournalRecord::getCorrelationId).containsExactly("req-1");
+    }
+
+    @Test
+    void rollsToSpareSegmentAndKeepsMaxSegments() throws Exception {
+        // 레코드 2개가 들어가는 크기
+        open(256, 2);
+        for (int i = 0; i < 10; i++) {
+            awaitSpare();
+            journal.onError(i * 1000L, "req-" + i, "/api/members/ex", "REQUEST", "java.lang.RuntimeException", 500, "exceptionHandle");
+        }
+        awaitSpare();
+
+        List<Path> segments = JournalFormat.segments(directory);
+        assertThat(segments).hasSize(2);
+        // 세그먼트 이름은 첫 레코드 시각
+        assertThat(JournalFormat.segmentTimestamp(segments.get(1))).isEqualTo(8000);
+        assertThat(read(ErrorJournalReader.Query.all())).extracting(JournalRecord::getTimestamp)
+                .containsExactly(6000L, 7000L, 8000L, 9000L);
+    }
+
+    private void open(long segmentBytes, int maxSegments) throws IOException {
+        ErrorJournalProperties properties = new ErrorJournalProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofBytes(segmentBytes));
+        properties.setMaxSegments(maxSegments);
+        journal = new ErrorJournal(properties);
+    }
+
+    private List<JournalRecord> read(ErrorJournalReader.Query query) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        new ErrorJournalReader(directory).scan(query, records::add);
+        return records;
+    }
+
+    // 세그먼트 전환 후 flusher 스레드가 다음 세그먼트를 준비할 때까지 대기
+    private void awaitSpare() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!journal.isSpareReady()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static int readInt(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        return file.readInt();
+    }
+}
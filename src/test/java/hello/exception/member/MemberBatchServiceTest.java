@@ -0,0 +1,97 @@
+package hello.exception.member;
+
+import hello.exception.exhandler.ErrorMessageProperties;
+import hello.exception.exhandler.ErrorMessages;
+import hello.exception.metrics.ErrorMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberBatchServiceTest {
+
+    private MemberBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        MemberRepository repository = new MemberRepository(new InMemoryMemberStorage(), 100);
+        repository.save(new Member("spring", "hello spring"));
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+
+        MemberProperties properties = new MemberProperties();
+        properties.setBatchMaxSize(10);
+        properties.setBatchParallelism(2);
+        // 5개 id 를 3개 chunk 로 나눠서 병렬 경로를 타도록
+        properties.setBatchChunkSize(2);
+
+        service = new MemberBatchService(repository, new ErrorMetrics(),
+                new ErrorMessages(messageSource, new ErrorMessageProperties()), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void perItemResultsInRequestOrder() {
+        List<MemberBatchService.Result> results = service.findAll(List.of("spring", "bad", "nobody", "user-ex", "ex"), Locale.ENGLISH);
+
+        assertThat(results).extracting(MemberBatchService.Result::getId)
+                .containsExactly("spring", "bad", "nobody", "user-ex", "ex");
+        assertThat(results).extracting(MemberBatchService.Result::getStatus)
+                .containsExactly(200, 400, 404, 400, 500);
+
+        assertThat(results.get(0).getMember().getName()).isEqualTo("hello spring");
+        assertThat(results.get(0).getError()).isNull();
+
+        assertThat(results.get(1).getMember()).isNull();
+        assertThat(results.get(1).getError().getCode()).isEqualTo("BAD");
+        assertThat(results.get(1).getError().getMessage()).isEqualTo("Invalid request: 잘못 입력 값");
+        assertThat(results.get(2).getError().getCode()).isEqualTo("NOT-FOUND");
+        assertThat(results.get(2).getError().getMessage()).isEqualTo("Member not found. id=nobody");
+        assertThat(results.get(3).getError().getCode()).isEqualTo("USER-EX");
+        assertThat(results.get(4).getError().getCode()).isEqualTo("EX");
+        assertThat(results.get(4).getError().getMessage()).isEqualTo("Internal error");
+    }
+
+    @Test
+    void singleChunkUsesRequestLocale() {
+        List<MemberBatchService.Result> results = service.findAll(List.of("nobody"), Locale.KOREAN);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getStatus()).isEqualTo(404);
+        assertThat(results.get(0).getError().getMessage()).isEqualTo("회원을 찾을 수 없습니다. id=nobody");
+    }
+
+    @Test
+    void nullOrBlankIdRejectsRequest() {
+        assertThatThrownBy(() -> service.findAll(Arrays.asList("spring", null), Locale.ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("index=1");
+        assertThatThrownBy(() -> service.findAll(List.of("spring", "bad", " "), Locale.ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyOrOversizedRequestRejected() {
+        assertThatThrownBy(() -> service.findAll(List.of(), Locale.ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findAll(null, Locale.ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findAll(Arrays.asList(new String[11]), Locale.ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("10");
+    }
+}